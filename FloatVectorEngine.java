@@ -0,0 +1,249 @@
+/**
+ * COMP1008 Coursework
+ * 
+ * 
+ * 
+ * @author Emily Shepherd
+ * @ecsId  ams2g11
+ */
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * FloatVectorEngine
+ * 
+ * VectorEngine for floats. A float is half the
+ * size of a double, so twice as many pixels fit in
+ * a vector (8 on AVX2, 16 on AVX-512).
+ * 
+ * The sums are done in the same order as
+ * FloatEngine, so the results are identical to
+ * its. Like VectorEngine, it is looked up by name
+ * and needs --add-modules jdk.incubator.vector
+ * 
+ * @author Emily Shepherd
+ */
+class FloatVectorEngine implements Engine
+{
+    /**
+     * The widest vector shape the CPU supports
+     */
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    
+    /**
+     * Used for the pixels left over at the end of a
+     * row that don't fill a whole vector
+     */
+    private FloatEngine scalar;
+    
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * If false, the cardioid, bulb and cycle checks
+     * are skipped
+     * 
+     * @see AlgorithmChecker.shortcuts
+     */
+    private boolean shortcuts;
+    
+    /**
+     * FloatVectorEngine
+     * 
+     * @param checker The checker being drawn
+     * @param view    What is being drawn
+     */
+    public FloatVectorEngine(AlgorithmChecker checker, View view)
+    {
+        this.view      = view;
+        this.absolute  = checker.absoluteParts();
+        this.shortcuts = checker.shortcuts();
+        this.scalar    = new FloatEngine(checker, view);
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        int     lanes   = SPECIES.length();
+        float[] axisX   = new float[lanes];
+        float[] results = new float[lanes];
+        float[] saved   = new float[2 * lanes];
+        int     i       = 0;
+        
+        //Never saved over, and NaN never equals anything,
+        //so no lane is ever stopped by the cycle check
+        if (!shortcuts)
+        {
+            Arrays.fill(saved, Float.NaN);
+        }
+        
+        for (; i + lanes <= count; i += lanes)
+        {
+            //Worked out in doubles then rounded, as FloatEngine does
+            for (int lane = 0; lane < lanes; lane++)
+            {
+                axisX[lane] = (float)view.getAxisX(x + (i + lane) * step);
+            }
+            
+            if (absolute)
+            {
+                calculateLanesAbsolute(axisX, (float)view.getAxisY(y), results);
+            }
+            else
+            {
+                calculateLanes(axisX, (float)view.getAxisY(y), saved, results);
+            }
+            
+            for (int lane = 0; lane < lanes; lane++)
+            {
+                tests[offset + i + lane] = (int)results[lane];
+                
+                //The lanes have carried on past where they escaped,
+                //so the scalar engine follows those again
+                if (smooth != null && results[lane] < view.getIterations())
+                {
+                    smooth[offset + i + lane] = scalar.smooth
+                    (
+                        x + (i + lane) * step, y, (int)results[lane]
+                    );
+                }
+            }
+        }
+        
+        scalar.calculateRow(x + i * step, y, step, count - i, tests, smooth, offset + i);
+    }
+    
+    /**
+     * calculateLanes
+     * 
+     * Calculates one vector's worth of pixels of the
+     * Mandelbrot set (or its Julia sets)
+     * 
+     * @param axisX   The x axis value of each pixel
+     * @param axisY   The y axis value of the row
+     * @param saved   Room for the point saved for cycle detection
+     * @param results Where to put the number of iterations for each
+     */
+    private void calculateLanes(float[] axisX, float axisY, float[] saved, float[] results)
+    {
+        int iterations = view.getIterations();
+        
+        //Blended and saved to an array rather than set in an if, and
+        //and(not()) rather than andNot(), to keep the vectors off the
+        //heap, as in VectorEngine
+        VectorMask<Float> julia = SPECIES.maskAll(view.isJulia());
+        
+        FloatVector zr = FloatVector.fromArray(SPECIES, axisX, 0);
+        FloatVector zi = FloatVector.broadcast(SPECIES, axisY);
+        FloatVector cr = zr.blend((float)view.getSeedReal(), julia);
+        FloatVector ci = zi.blend((float)view.getSeedImaginary(), julia);
+        
+        VectorMask<Float> running = SPECIES.maskAll(true);
+        
+        FloatVector tests = FloatVector.broadcast(SPECIES, iterations);
+        
+        int lanes      = SPECIES.length();
+        int sinceSaved = 0;
+        int saveEvery  = 1;
+        
+        if (shortcuts)
+        {
+            zr.intoArray(saved, 0);
+            zi.intoArray(saved, lanes);
+        }
+        
+        for (int i = 1; i < iterations && running.anyTrue(); i++)
+        {
+            FloatVector newReal = zr.mul(zr).sub(zi.mul(zi));
+            
+            zi = zr.mul(2).mul(zi).add(ci);
+            zr = newReal.add(cr);
+            
+            VectorMask<Float> escaped = zr.mul(zr).add(zi.mul(zi))
+                .compare(VectorOperators.GT, 4).and(running);
+            
+            tests   = tests.blend(i, escaped);
+            running = running.and(escaped.not());
+            running = running.and
+            (
+                zr.eq(FloatVector.fromArray(SPECIES, saved, 0))
+                    .and(zi.eq(FloatVector.fromArray(SPECIES, saved, lanes))).not()
+            );
+            
+            if (shortcuts && ++sinceSaved == saveEvery)
+            {
+                zr.intoArray(saved, 0);
+                zi.intoArray(saved, lanes);
+                sinceSaved  = 0;
+                saveEvery  *= 2;
+            }
+        }
+        
+        tests.intoArray(results, 0);
+    }
+    
+    /**
+     * calculateLanesAbsolute
+     * 
+     * Same as calculateLanes(), but for the Burning
+     * Ship, kept separate for the JIT as in
+     * VectorEngine
+     * 
+     * @param axisX   The x axis value of each pixel
+     * @param axisY   The y axis value of the row
+     * @param results Where to put the number of iterations for each
+     */
+    private void calculateLanesAbsolute(float[] axisX, float axisY, float[] results)
+    {
+        int iterations = view.getIterations();
+        
+        VectorMask<Float> julia = SPECIES.maskAll(view.isJulia());
+        
+        FloatVector zr = FloatVector.fromArray(SPECIES, axisX, 0);
+        FloatVector zi = FloatVector.broadcast(SPECIES, axisY);
+        FloatVector cr = zr.blend((float)view.getSeedReal(), julia);
+        FloatVector ci = zi.blend((float)view.getSeedImaginary(), julia);
+        
+        VectorMask<Float> running = SPECIES.maskAll(true);
+        
+        FloatVector tests = FloatVector.broadcast(SPECIES, iterations);
+        
+        for (int i = 1; i < iterations && running.anyTrue(); i++)
+        {
+            zr = zr.abs();
+            zi = zi.abs();
+            
+            FloatVector newReal = zr.mul(zr).sub(zi.mul(zi));
+            
+            zi = zr.mul(2).mul(zi).add(ci);
+            zr = newReal.add(cr);
+            
+            VectorMask<Float> escaped = zr.mul(zr).add(zi.mul(zi))
+                .compare(VectorOperators.GT, 4).and(running);
+            
+            tests   = tests.blend(i, escaped);
+            running = running.and(escaped.not());
+        }
+        
+        tests.intoArray(results, 0);
+    }
+}
@@ -1,1800 +1,9411 @@
-/**
- * COMP1008 Coursework
- * 
- * 
- * 
- * @author Emily Shepherd
- * @ecsId  ams2g11
- */
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.FlowLayout;
-import java.awt.Frame;
-import java.awt.Graphics;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.awt.event.ComponentEvent;
-import java.awt.event.ComponentListener;
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
-import java.awt.event.MouseMotionListener;
-import java.awt.image.BufferedImage;
-import java.awt.image.ImageFilter;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
-
-import javax.imageio.ImageIO;
-import javax.swing.JButton;
-import javax.swing.JComboBox;
-import javax.swing.JFileChooser;
-import javax.swing.JFrame;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.JTextField;
-
-
-/**
- * Main
- * 
- * Starts the system.
- * 
- * @author Emily Shepherd
- */
-public class Main
-{
-	/**
-	 * main
-	 * 
-	 * Starts the program by starting a new
-	 * MandelbrotUI JFrame.
-	 * 
-	 * @param args
-	 * @see MandelbrotUI
-	 */
-	public static void main(String[] args)
-	{
-		new MandelbrotUI();
-	}
-}
-
-
-/**
- * AbstractUI
- * 
- * Mandelbrot and Julia UI Frames should extend this
- * 
- * Sets up common methods, like painting the
- * BufferedImage to the UIPane, and recalculating
- * the fractal on resize
- * 
- * @author Emily Shepherd
- *
- */
-abstract class AbstractUI extends JFrame implements ComponentListener, AlgorithmFinishedListener
-{
-    /**
-     * 
-     */
-    private static final long serialVersionUID = 1L;
-
-    /**
-     * The JPanel the fractal will be drawn to
-     */
-    protected JPanel UIPane = new JPanel();
-    
-    /**
-     * This object will do our drawing
-     */
-    protected AlgorithmChecker ac;
-    
-    /**
-     * The point the user clicked on
-     */
-    protected ComplexNumber userSelectedPoint;
-    
-    /**
-     * This is the image given to the Frame by the
-     * AlgorithmChecker when it has finished drawing
-     * the fractal
-     */
-    protected BufferedImage image;
-    
-    /**
-     * AbstractUI
-     * 
-     * Sets up the Frame
-     * 
-     * @param title The JFrame title
-     */
-    public AbstractUI(String title)
-    {
-        super(title);
-        
-        //For resizing listening
-        this.addComponentListener(this);
-        
-        UIPane = new JPanel()
-        {
-            /**
-             * 
-             */
-            private static final long serialVersionUID = 1L;
-
-            /**
-             * paintComponent
-             * 
-             * If a fractal image is available, this one
-             * draw it. Otherwise, it will ask ac to calculate
-             * one (safe to call from this thread as ac.start()
-             * does no calculations, it starts its child threads)
-             */
-            public void paintComponent(Graphics painter)
-            {
-                //Java sometimes randomly called paint() before the
-                //ac was ready. If we get here and we don't have an
-                //image, its acceptable to ask the AlgorithmChecker
-                //to build us one, as obviously someone want GUI
-                if (image != null)
-                {
-                    painter.drawImage(image, 0, 0, UIPane.getWidth(), UIPane.getHeight(), null);
-                }
-                else
-                {
-                    //Safe to call from the EDT, as this method does
-                    //no calculations, it just sets off the child
-                    //threads
-                    ac.start();
-                }
-            }
-        };
-    }
-    
-    /**
-     * finishedImage
-     * 
-     * Callback for AlgorithmChecker when the fractal
-     * has been calculated. This method will repaint
-     * the frame immediately.
-     * 
-     * @see AlgorithmFinishedListener.finishedImage
-     */
-    public void finishedImage(BufferedImage image)
-    {
-        this.image = image;
-        repaint();
-    }
-    
-    /**
-     * componentResized
-     * 
-     * Recalculates the fractal
-     */
-    public void componentResized(ComponentEvent e)
-    {
-        ac.resize(UIPane.getWidth(), UIPane.getHeight());
-        ac.start();
-    }
-
-    /**
-     * Unused
-     */
-    public void componentHidden(ComponentEvent e){}
-    public void componentMoved(ComponentEvent e){}
-    public void componentShown(ComponentEvent e){}
-}
-
-/**
- * AlgorthimFinishedListener
- * 
- * Classes that implement this interface can handle
- * AlgorithmChecker's finishedImage event
- * 
- * @author Emily Shepherd
- *
- */
-interface AlgorithmFinishedListener
-{
-    /**
-     * finishedDrawing
-     * 
-     * Called when the AlgorithmChecker has finished
-     * calculating the fractal
-     * 
-     * @param image The fractal
-     */
-    public void finishedImage(BufferedImage image);
-}
-
-/**
- * AlgorithmChecker
- * 
- * This class controls the threads that calculate
- * our fractals.
- * 
- * CalculatorThread is a nested class within this,
- * these do the work.
- * 
- * This class creates a thread per processor on the
- * machine in the hope that the OS will run them
- * simultaneously. Each thread takes responsibility
- * for drawing a stripe of the fractal. These
- * stripes run along the y axis, that is. Each thread
- * draws the every y value for its x axis bounds.
- * 
- * EG: For a quad-core processor, the image would be
- * drawn be 4 threads, and striped like so:
- *   -------------------------
- *   |     |     |     |     |
- *   |     |     |     |     |
- *   |  0  |  1  |  2  |  3  |
- *   |     |     |     |     |
- *   |     |     |     |     |
- *   -------------------------
- * 
- * @author Emily Shepherd
- *
- */
-abstract class AlgorithmChecker
-{
-    /**
-     * Number of iterations we should perform
-     */
-    protected int iterations = 100;
-    
-    /**
-     * threads contains all our threads
-     * running holds only running threads
-     */
-    private ArrayList<CalculatorThread> threads =
-            new ArrayList<CalculatorThread>();
-    private ArrayList<CalculatorThread> running =
-            new ArrayList<CalculatorThread>();
-    
-    /**
-     * These will have their finishedImage() method
-     * called when the image has been calculated
-     * 
-     * @see AlgorithmFinishedListener.finishedImage
-     */
-    private ArrayList<AlgorithmFinishedListener> listeners =
-        new ArrayList<AlgorithmFinishedListener>();
-    
-    /**
-     * The image of the fractal
-     */
-    private BufferedImage image;
-    
-    /**
-     * This value is used to scale the color
-     * It is calculated from the number of interations
-     * and is set when setIterations() is called
-     * 
-     * @see setIterations
-     */
-    private double shadeRatio = 7;
-    
-    /**
-     * The required width and height of the final image
-     */
-    private int width;
-    private int height;
-    
-    /**
-     * The width that each of our threads is responsible
-     * for in pixels, and in axis value.
-     */
-    private int threadWidth;
-    private double threadAxisWidth;
-    
-    /**
-     * These are the maximum and minimum axis values
-     * Eg -2, 2 and -1.6, 1.6
-     * 
-     * axisXMax is not stored as it is never used
-     */
-    private double axisYMin;
-    private double axisYMax;
-    private double axisXMin;
-    
-    /**
-     * These donate how the value changes on each
-     * axis as you advance by one pixel
-     */
-    private double axisYStep;
-    private double axisXStep;
-    
-    /**
-     * If true, the image is ok to be drawn. If
-     * false, the AlgorithmChecker has had its
-     * values changed via public setters and so
-     * will call update() before attempting to
-     * draw the image, so that all required values
-     * are correctly set before setting off the
-     * child threads
-     * 
-     * @see update()
-     */
-    private boolean ready = false;
-    
-    /**
-     * Should this be a Julia set or not?
-     */
-    protected boolean julia = false;
-    
-    /**
-     * The ComplexNumber seed (c) if this is running
-     * as a Julia set
-     */
-    protected ComplexNumber userSelectedPoint;
-    
-    /**
-     * AlgoirthmChecker
-     * 
-     * Creates the appropriate number of threads
-     * 
-     * @param julia Should this be a julia set?
-     */
-    public AlgorithmChecker(boolean julia)
-    {
-        //It will create a thread per processor
-        //Hopefully the system runs them simultaneously
-        // - it barely ever does >:(
-        double processors = (double)Runtime.getRuntime().availableProcessors();
-        
-        for (int i = 0; i < processors; i++)
-        {
-            threads.add(new CalculatorThread());
-        }
-        
-        this.julia = julia;
-    }
-    
-    /**
-     * finishedDrawing
-     * 
-     * Called by a CalculatorThread to tell the checker
-     * that it has finished.
-     * 
-     * When all Threads have finished, the listeners
-     * will be notified.
-     * 
-     * @param ct The CalculatorThread that finished
-     */
-    public synchronized void finishedDrawing(CalculatorThread ct)
-    {
-        //If running is already empty, repaint will have been called
-        //so we should go no further
-        if (running.isEmpty()) return;
-        
-        running.remove(ct);
-        
-        //running is empty when all threads have completed
-        if (running.isEmpty())
-        {
-            for (AlgorithmFinishedListener afl : listeners)
-            {
-                afl.finishedImage(image);
-            }
-        }
-    }
-    
-    /**
-     * addFinishedListener
-     * 
-     * Adds a listener to be called when the fractal
-     * image has been calculated
-     * 
-     * @param afl The listener
-     */
-    public void addFinishedListener(AlgorithmFinishedListener afl)
-    {
-        listeners.add(afl);
-    }
-    
-    /**
-     * start
-     * 
-     * Sets the children running
-     */
-    public void start()
-    {
-        //Can sometimes be called twice by double tapping "redraw"
-        //Quietly ignore these things
-        if (running()) return;
-        
-        //If not ready, perform the update() method attempt to get
-        //ready
-        //If update returns false, we haven't got all the information
-        //we need. This will only happen at startup, so it's ok to quietly
-        //refuse to draw as it will be called again when the required
-        //information is provided
-        if (!ready && !update()) return;
-        
-        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-        for (CalculatorThread ct : threads)
-        {
-            running.add(ct);
-            
-            if (ct.isAlive())
-            {
-                ct.interrupt();
-            }
-            else
-            {
-                ct.start();
-            }
-        }
-    }
-    
-    /**
-     * running
-     * 
-     * Returns true if the image is being calculated.
-     * I don't think it's ever used.
-     * 
-     * @return true if the image is being calculated
-     */
-    public boolean running()
-    {
-        return !running.isEmpty();
-    }
-    
-    /**
-     * update
-     * 
-     * Calculates the required values for the child
-     * threads
-     * 
-     * @return true if it had the appropriate information
-     *         false if information was missing
-     */
-    private boolean update()
-    {
-        axisXStep = threadAxisWidth / (double)threadWidth;
-        axisYStep = Math.abs(axisYMax - axisYMin) / (double)height;
-        
-        //resize hasn't been called / the JFrame is too small
-        if (threadWidth <= 0 || height <= 0)
-        {
-            return false;
-        }
-        
-        int    x    = 0;
-        double real = axisXMin;
-        
-        //Notify all the child threads about their bounds
-        for (CalculatorThread ct : threads)
-        {
-            ct.setBounds(real, x, x + threadWidth);
-            
-            x    += threadWidth;
-            real += threadAxisWidth;
-        }
-        
-        ready = true;
-        return true;
-    }
-    
-    /**
-     * resize
-     * 
-     * Change the size of the desired image
-     * 
-     * @param width  The required width
-     * @param height The required height
-     */
-    public void resize(int width, int height)
-    {
-        if (running()) return;
-        
-        //Changes made, update() will be called
-        //before drawing can begin
-        ready       = false;
-        
-        this.width  = width;
-        this.height = height;
-        
-        threadWidth = width / threads.size();
-    }
-    
-    /**
-     * changeAxis
-     * 
-     * Change the axis values to draw between
-     * 
-     * @param xMin The minimum x value
-     * @param xMax The maximum x value
-     * @param yMin The minimum y value
-     * @param yMax The maximum y value
-     */
-    public void changeAxis(double xMin, double xMax, double yMin, double yMax)
-    {
-        if (running()) return;
-        
-        //Changes made, update() will be called
-        //before drawing can begin
-        ready     = false;
-        
-        axisYMin  = yMin;
-        axisYMax  = yMax;
-        axisXMin  = xMin;
-        
-        threadAxisWidth = Math.abs(xMax - xMin) / threads.size();
-    }
-    
-    /**
-     * setIterations
-     * 
-     * Set the maximum number of interations to do per pixel
-     * 
-     * @param iterations The number of iterations
-     */
-    public void setIterations(int iterations)
-    {
-        if (running()) return;
-        
-        this.iterations = iterations;
-        this.shadeRatio = 765 / iterations; // 3 * 255 = 765
-    }
-    
-    /**
-     * setC
-     * 
-     * Sets the seed ComplexNumber. Called c because
-     * that's the letter that was used in the
-     * specification's algorithm.
-     * 
-     * @param userSelectedPoint The ComplexNumber seed
-     */
-    public void setC(ComplexNumber userSelectedPoint)
-    {
-        //Setting the userSelectedPoint halfway through a
-        //calculation will cause striping
-        if (this.running()) return;
-        
-        this.userSelectedPoint = userSelectedPoint;
-    }
-    
-    /**
-     * scaleShade
-     * 
-     * Scales up a number between 0 and iterations
-     * to be a number between 0 and (3 * 255) for
-     * use as a RGB value.
-     * 
-     * @param shade
-     * @return
-     */
-    protected int scaleShade(int shade)
-    {
-        return 3 * 255 - (int)(shade * shadeRatio);
-    }
-    
-    /**
-     * calculate
-     * 
-     * Extending classes are responsible for calculating
-     * Z()
-     * 
-     * @param d ComplexNumber
-     * @param c ComplexNumber seed
-     * @return The number of iterations required for divergence
-     */
-    abstract public int calculate(ComplexNumber d, ComplexNumber c);
-    
-    /**
-     * calculate
-     * 
-     * Runs calculate(ComplexNumber, ComplexNumber)
-     * with d as arg1 and d.clone() as arg2
-     * 
-     * @param d ComplexNumber
-     * @return The number of iterations required for divergence
-     */
-    protected int calculate(ComplexNumber d)
-    {
-        return calculate(d, d.clone());
-    }
-    
-    /**
-     * CalculatorThread
-     * 
-     * @author Emily Shepherd
-     */
-    private class CalculatorThread extends Thread
-    {
-        /**
-         * The minimum x axis value this thread is responsible
-         * for
-         */
-        private double axisXMin;
-        
-        /**
-         * The minimum and maximum x coords this thread is
-         * responsible for
-         */
-        private int xMin;
-        private int xMax;
-        
-        /**
-         * setBounds
-         * 
-         * Saves the bounds this thread is responsible for
-         * 
-         * @param axisXMin
-         * @param xMin
-         * @param xMax
-         */
-        public void setBounds(double axisXMin, int xMin, int xMax)
-        {
-            this.axisXMin = axisXMin;
-            
-            this.xMin  = xMin;
-            this.xMax  = xMax;
-        }
-        
-        /**
-         * run
-         * 
-         * Calculates this section of the image
-         */
-        public void run()
-        {
-            //Threads will sleep when inactive, not die
-            while (true)
-            {
-                Graphics painter = image.getGraphics();
-                double axisX        = axisXMin;
-    
-                //Two loops - one for x pixels, one for y pixles
-                for (int x = xMin; x < xMax; x++)
-                {
-                    double axisY = axisYMax;
-                    
-                    for (int y = 0; y < height; y++)
-                    {
-                        //The result for this pixel
-                        int test;
-                        
-                        if (julia)
-                        {
-                            test = calculate
-                            (
-                                new ComplexNumber(axisX, axisY),
-                                userSelectedPoint
-                            );
-                        }
-                        else
-                        {
-                            test = calculate(new ComplexNumber(axisX, axisY));
-                        }
-                        
-                        //Scale the test result to a shade for the pixel
-                        int shade = scaleShade(test);
-                        
-                        setColor(painter, shade);
-                        
-                        painter.drawLine(x, y, x, y);
-                        
-                        axisY -= axisYStep;
-                    }
-                    axisX += axisXStep;
-                }
-               
-                try
-                {
-                    while (true)
-                    {
-                        //Tell the parent AlgorithmChecker this thread is done
-                        finishedDrawing(this);
-                        Thread.sleep(500);
-                    }
-                }
-                //Woah! We has work to do!
-                catch (InterruptedException ie) {}
-            }
-        }
-        
-        /**
-         * setColor
-         * 
-         * Takes a number between 0 and 3 * 255,
-         * splits it into three numbers between 0
-         * and 255 and uses those to set the graphics'
-         * color.
-         * 
-         * Can take a number higher than 3 * 255, if
-         * you're extending my work like a n00b. (It
-         * will ignore the heigher bits).
-         * 
-         * @param painter The Graphics object to set the color for
-         * @param shade   The 0-3*255 number
-         */
-        private void setColor(Graphics painter, int shade)
-        {
-            int red   = shade > 255 ? 255 : shade;
-            shade -= red;
-            int green = shade > 255 ? 255 : shade;
-            shade -= green;
-            int blue  = shade > 255 ? 255 : shade;
-            
-            painter.setColor(new Color(red, green, blue));
-        }
-    }
-}
-
-/**
- * ComplexNumber
- * 
- * Represents a complex number, having a real
- * and imaginary section
- * 
- * @author Emily Shepherd
- *
- */
-class ComplexNumber implements Cloneable
-{
-    /**
-     * The real and imaginary parts of the
-     * complex number
-     */
-    private double real;
-    private double imaginary;
-    
-    /**
-     * ComplexNumber
-     * 
-     * @param real The real part
-     * @param imaginary The imaginary part
-     */
-    public ComplexNumber(double real, double imaginary)
-    {
-        this.real = real;
-        this.imaginary = imaginary;
-    }
-    
-    /**
-     * getReal
-     * 
-     * Returns the real part of the number
-     * 
-     * @return The real part of the number
-     */
-    public double getReal()
-    {
-        return real;
-    }
-    
-    /**
-     * getImaginary
-     * 
-     * Returns the imaginary part of the number
-     * 
-     * @return The imaginary part of the number
-     */
-    public double getImaginary()
-    {
-        return imaginary;
-    }
-    
-    /**
-     * square
-     * 
-     * Squares the number
-     */
-    public void square()
-    {
-        double newReal = real*real - imaginary*imaginary;
-        
-        imaginary = 2 * real * imaginary;
-        real      = newReal;
-    }
-    
-    /**
-     * modulusSquared
-     * 
-     * Returns the square of the modulus of the number
-     * 
-     * @return The square of the modulus of the number
-     */
-    public double modulusSquared()
-    {
-        return real*real + imaginary*imaginary;
-    }
-    
-    /**
-     * add
-     * 
-     * Adds the given ComplexNumber to this one
-     * 
-     * @param d The ComplexNumber to add
-     */
-    public void add(ComplexNumber d)
-    {
-        real      += d.getReal();
-        imaginary += d.getImaginary();
-    }
-    
-    /**
-     * clone
-     * 
-     * Returns a clone of this object.
-     * Not sure if it's ever used.
-     * 
-     * @return A clone
-     */
-    public ComplexNumber clone()
-    {
-        return new ComplexNumber(real, imaginary);
-    }
-    
-    /**
-     * toString
-     * 
-     * Returns string representation of the ComplexNumber
-     * 
-     * @return String representation of the ComplexNumber
-     */
-    public String toString()
-    {
-        return 
-              getReal()      + " + "
-            + getImaginary() + "i";
-    }
-    
-    /**
-     * equals
-     * 
-     * Returns true if the given ComplexNumber is
-     * equal to this one
-     * 
-     * @param number The ComplexNumber to compare this to
-     * @return true, if equal
-     */
-    public boolean equals(ComplexNumber number)
-    {
-        return number.getReal() == real && number.getImaginary() == imaginary;
-    }
-}
-
-/**
- * Favourite
- * 
- * Represents a favourite Julia image
- * 
- * @author Emily Shepherd
- *
- */
-class Favourite extends JPanel implements MouseListener
-{
-    /**
-     * 
-     */
-    private static final long serialVersionUID = 1L;
-
-    /**
-     * The image that we like
-     */
-    private BufferedImage image;
-    
-    /**
-     * The seed number it came from
-     */
-    private ComplexNumber number;
-    
-    /**
-     * The FavouriteViewer JFrame that this is part of
-     */
-    private FavouriteViewer parent;
-    
-    /**
-     * This pane will have a preview of the image on it
-     */
-    private JPanel UIPane;
-    
-    /**
-     * Favourite
-     * 
-     * 
-     * 
-     * @param bi The image
-     * @param number The ComplexNumber seed
-     * @param parent The parent Favourite JFrame
-     */
-    public Favourite(BufferedImage bi, ComplexNumber number, FavouriteViewer parent)
-    {
-        this.image  = bi;
-        this.number = number;
-        this.parent = parent;
-        
-        setLayout(new FlowLayout());
-        
-        UIPane = new JPanel()
-        { 
-            /**
-             * 
-             */
-            private static final long serialVersionUID = 1L;
-
-            public void paint(Graphics painter)
-            {
-                painter.drawImage(image, 0, 0, 120, 120, null);
-            }
-        };
-        UIPane.setPreferredSize(new Dimension(120, 120));
-        UIPane.setBackground(Color.black);
-        add(UIPane);
-        
-        JLabel label = new JLabel(number.toString());
-        add(label);
-        
-        JButton view = new JButton("View");
-        view.addMouseListener(this);
-        add(view);
-        
-        JButton save = new JButton("Save");
-        save.addActionListener
-        (
-            new ActionListener()
-            {
-                public void actionPerformed(ActionEvent arg0)
-                {
-                    JFileChooser fc = new JFileChooser();
-
-                    if (fc.showSaveDialog(null) != JFileChooser.APPROVE_OPTION) return;
-                    
-                    File saveTo = fc.getSelectedFile();
-                    
-                    try
-                    {
-                        ImageIO.write(image, "png", saveTo);
-                    }
-                    catch (IOException e)
-                    {
-                        // TODO Auto-generated catch block
-                        e.printStackTrace();
-                    }
-                }
-            }
-        );
-        add(save);
-    }
-
-    /**
-     * mouseClicked
-     * 
-     * Tells its parent that the mouse was clicked
-     */
-    public void mouseClicked(MouseEvent arg0)
-    {
-        parent.renderNumber(number);
-    }
-
-    /**
-     * Unused
-     * */
-    public void mouseEntered(MouseEvent arg0){}
-    public void mouseExited(MouseEvent arg0){}
-    public void mousePressed(MouseEvent arg0){}
-    public void mouseReleased(MouseEvent arg0){}
-}
-
-/**
- * FavouriteViewer
- * 
- * This JFrame stores and shows all favourites
- * 
- * @author Emily Shepherd
- *
- */
-class FavouriteViewer extends JFrame
-{
-    /**
-     * 
-     */
-    private static final long serialVersionUID = 1L;
-    
-    /**
-     * The parent JuliaUI
-     */
-    private JuliaUI parent;
-    
-    /**
-     * FavouriteViewer
-     * 
-     * @param parent The parent JuliaUI
-     */
-    public FavouriteViewer(JuliaUI parent)
-    {
-        super("Favourites");
-        
-        this.parent = parent;
-        
-        setLayout(new FlowLayout());
-        setSize(700, 700);
-        setResizable(false);
-    }
-    
-    /**
-     * addFavourite
-     * 
-     * Adds a favourite to the FavouriteViewer
-     * 
-     * @param number The ComplexNumber it represents
-     * @param bi The image
-     */
-    public void addFavourite(ComplexNumber number, BufferedImage bi)
-    {
-        add(new Favourite(bi, number, this));
-    }
-    
-    /**
-     * renderNumber
-     * 
-     * Tells its parent JuliaUI to render the number
-     * (will recalculate it atm) and hides this JFrame.
-     * 
-     * @param number The ComplexNumber to draw
-     */
-    public void renderNumber(ComplexNumber number)
-    {
-        parent.renderNumber(number);
-        setVisible(false);
-    }
-    
-    /**
-     * showForm
-     * 
-     * Alias for setVisible(true);
-     */
-    public void showForm()
-    {
-        setVisible(true);
-    }
-}
-
-/**
- * JuliaUI
- * 
- * The JFrame that shows the Julia set
- * 
- * @author Emily Shepherd
- *
- */
-class JuliaUI extends AbstractUI
-{
-    /**
-     * 
-     */
-    private static final long serialVersionUID = 1L;
-    
-    /**
-     * The FavouriteViewer JFrame
-     */
-    private FavouriteViewer favs;
-    
-    /**
-     * The label that shows the userSelectedPoint
-     */
-    private JLabel point;
-    
-    /**
-     * JuliaUI
-     * 
-     * 
-     */
-    public JuliaUI(AlgorithmChecker ac)
-    {
-        super("Julia Set UI");
-        
-        setLayout(new BorderLayout());
-        
-        favs = new FavouriteViewer(this);
-        
-        //UIPane comes from parent class
-        add(UIPane, BorderLayout.CENTER);
-        
-        //Controls
-        JPanel controls = new JPanel();
-        controls.setLayout(new FlowLayout());
-        add(controls, BorderLayout.NORTH);
-        
-        //Add Favourite Button
-        JButton fav = new JButton("Add Image to Favourites");
-        fav.addActionListener(new ActionListener()
-        {
-            public void actionPerformed(ActionEvent arg0)
-            {
-                favs.addFavourite(userSelectedPoint, image);
-            }
-        });
-        controls.add(fav);
-        
-        //View Favourites Button
-        JButton viewFavs = new JButton("View Favourites");
-        viewFavs.addActionListener(new ActionListener()
-        {
-            public void actionPerformed(ActionEvent arg0)
-            {
-                favs.showForm();
-            }
-        });
-        controls.add(viewFavs);
-        
-        //Label
-        point = new JLabel("");
-        add(point, BorderLayout.SOUTH);
-        
-        //Set up the JuliaChecker with hard coded axis bounds
-        this.ac = ac;
-        this.ac.changeAxis(-2, 2, -1.6, 1.6);
-        this.ac.setIterations(50); //Calculating on the fly is difficult, ok?
-        this.ac.addFinishedListener(this);
-        
-        setSize(400, 300);
-    }
-    
-    /**
-     * renderNumber
-     * 
-     * Shows the JFrame and draws the number
-     * 
-     * @param c
-     */
-    public void renderNumber(ComplexNumber c)
-    {
-        //Ugly, but it has to be a JuliaChecker for
-        //setC()
-        ac.setC(c);
-        userSelectedPoint = c;
-        
-        ac.start();
-        
-        point.setText(c.toString());
-        
-        //User may have closed the Window.
-        //If so, open it again
-        if (!this.isVisible())
-        {
-            setVisible(true);
-        }
-    }
-    
-    /**
-     * running
-     * 
-     * Returns true if the image is being calculated
-     * 
-     * @return True if the image is being calculated
-     */
-    public boolean running()
-    {
-        return ac.running();
-    }
-    
-    /**
-     * setIterations
-     * 
-     * Sets the iterations for the JuliaChecker
-     * 
-     * @param interations The number of iterations
-     * @see   AlgorithmChecker.setIterations
-     */
-    public void setIterations(int interations)
-    {
-        ac.setIterations(interations);
-    }
-}
-
-/**
- * MandelbrotChecker
- * 
- * Holds the algorithm for calculating the
- * Mandelbrot set
- * 
- * @author Emily Shepherd
- */
-class MandelbrotChecker extends AlgorithmChecker
-{
-    public MandelbrotChecker(boolean julia)
-    {
-        super(julia);
-    }
-    
-    /**
-     * calculate
-     * 
-     * @param d ComplexNumber
-     */
-    public int calculate(ComplexNumber d, ComplexNumber c)
-    {
-        for (int i = 1; i < iterations; i++)
-        {
-            d.square();
-            d.add(c);
-            
-            if (d.modulusSquared() > 4)
-            {
-                return i;
-            }
-        }
-        
-        return iterations;
-    }
-}
-
-/**
- * MandelbrotUI
- * 
- * JFrame for showing the Mandelbrot image
- * 
- * @author Emily Shepherd
- */
-class MandelbrotUI extends AbstractUI
-{
-    /**
-     * 
-     */
-    private static final long serialVersionUID = 1L;
-
-    /**
-     * Array of text boxes in the controls
-     */
-    private JTextField[] boxes = new JTextField[5];
-    
-    /**
-     * The JuliaUI JFrame
-     * 
-     * @see JuliaUI
-     */
-    private JuliaUI julia;
-    private JuliaUI[] julias;
-    
-    /**
-     * Algorithms
-     */
-    private AlgorithmChecker[] checkers;
-    
-    /**
-     * This nested class is responsible for
-     * following dragging and drawing the zooming
-     * rectangle
-     * 
-     * @see MandelbrotUI.DragFollower
-     */
-    private DragFollower df = new DragFollower();
-    
-    /**
-     * MandelbrotUI
-     * 
-     */
-    public MandelbrotUI()
-    {
-        super("Mandelbrot UI");
-        
-        checkers = new AlgorithmChecker[2];
-        julias   = new JuliaUI[2];
-        
-        //Setup MandelbrotCheck with default axis values
-        checkers[0] = new MandelbrotChecker(false);//MandelbrotChecker();
-        checkers[0].addFinishedListener(this);
-        checkers[1] = new BurningShipChecker(false);//MandelbrotChecker();
-        checkers[1].addFinishedListener(this);
-        
-        ac = checkers[0];
-        ac.changeAxis(-2, 2, -1.6, 1.6);
-        
-        julias[0] = new JuliaUI(new MandelbrotChecker(true));
-        julias[1] = new JuliaUI(new BurningShipChecker(true));
-        julia     = julias[0];
-        
-        //This is the main window, closing it should
-        //end the program
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);     
-        
-        setLayout(new BorderLayout());
-        
-        this.setExtendedState(Frame.MAXIMIZED_BOTH);
-        
-        //UIPane comes from parent class
-        UIPane.setBackground(Color.cyan);
-        UIPane.addMouseMotionListener(df);
-        UIPane.addMouseListener(df);
-        add(UIPane,  BorderLayout.CENTER);
-        
-        //controls
-        JPanel controls = new JPanel();
-        controls.setLayout(new FlowLayout());
-        add(controls, BorderLayout.SOUTH);
-        
-        //Checkers combo box
-        JComboBox checkersCombo = new JComboBox(new String[] {"Mandelbrot", "Buring Ship"});
-        checkersCombo.addActionListener
-        (
-            new ActionListener()
-            {
-                /**
-                 * Puts the appropiate ac and juliaUI in place then
-                 * calls reset to ensure they have correct initial
-                 * values
-                 * 
-                 * @see reset()
-                 */
-                public void actionPerformed(ActionEvent e)
-                {
-                    JComboBox combo = (JComboBox)e.getSource();
-                    ac              = checkers[combo.getSelectedIndex()];
-                    julia           = julias[combo.getSelectedIndex()];
-                    reset();
-                }
-            }
-        );
-        controls.add(checkersCombo);
-        
-        //Add text boxes
-        addBox(0, "Minimum X axis value:", "-2",   controls);
-        addBox(1, "Maximum X axis value:", "2",    controls);
-        addBox(2, "Minimum Y axis value:", "-1.6", controls);
-        addBox(3, "Maximum Y axis value:", "1.6",  controls);
-        addBox(4, "Iterations:",           "100",  controls);
-        
-        //Redraw button
-        //This button updates the Mandelbrot axis values
-        JButton draw = new JButton("Redraw");
-        draw.addActionListener
-        (
-            new ActionListener()
-            {
-                /**
-                 * actionPerformed
-                 * 
-                 * Updates the iterations and axis values
-                 * for the MandelbrotChecker and tells it
-                 * to redraw.
-                 * 
-                 * Bit annoying if nothing has changed as it
-                 * will redraw anyway
-                 */
-                public void actionPerformed(ActionEvent arg0)
-                {
-                    double uMinX  = new Double(boxes[0].getText()).doubleValue();
-                    double uMaxX  = new Double(boxes[1].getText()).doubleValue();
-                    double uMinY  = new Double(boxes[2].getText()).doubleValue();
-                    double uMaxY  = new Double(boxes[3].getText()).doubleValue();
-
-                    ac.setIterations(new Integer(boxes[4].getText()));
-                    ac.changeAxis(uMinX, uMaxX, uMinY, uMaxY);
-                    ac.start();
-                }
-            }
-        );
-        controls.add(draw);
-        
-        //Reset button
-        JButton reset = new JButton("Reset");
-        reset.addActionListener
-        (
-            new ActionListener()
-            {
-                public void actionPerformed(ActionEvent e)
-                {
-                    reset();
-                }
-            }
-        );
-        controls.add(reset);     
-        
-        //Always should be visible
-        setVisible(true);
-    }
-    
-    /**
-     * addBox
-     * 
-     * Adds a box to the controls JPanel
-     * 
-     * @param i The position to put this in the boxes array
-     * @param text The text for its label
-     * @param val The initial value for the box
-     * @param parent The controls JPanel
-     */
-    private void addBox(int i, String text, String val, JPanel parent)
-    {
-        boxes[i]     = new JTextField(3);
-        boxes[i].setText(val);
-        JLabel label = new JLabel(text);
-        
-        parent.add(label);
-        parent.add(boxes[i]);
-    }
-    
-    /**
-     * reset
-     * 
-     * Resets the UI.
-     *   Sets the axis to default (-2, -1.6) -> (2, 1.6)
-     *   Sets the iterations to default (100)
-     *   Forces the recalculation of the width of the display
-     *   Updates the text boxes
-     *   Repaints
-     */
-    private void reset()
-    {
-        boxes[0].setText("-2");
-        boxes[1].setText("2");
-        boxes[2].setText("-1.6");
-        boxes[3].setText("1.6");
-        boxes[4].setText("100");
-        
-        ac.setIterations(100);
-        ac.changeAxis(-2, 2, -1.6, 1.6);
-        componentResized(null); //calls repaint()
-    }
-    
-    /**
-     * paint
-     * 
-     * Paints above and prompts the DragFollower to
-     * paint()
-     * 
-     * @see DragFollower.paint()
-     */
-    public void paint(Graphics painter)
-    {
-        super.paint(painter);
-        
-        df.paint(painter);
-    }
-    
-    /**
-     * getPoint
-     * 
-     * Converts an (x, y) coordinate into a ComplexNumber
-     * 
-     * @param x The x coordinate
-     * @param y The y coordinate
-     * @return The ComplexNumber for that point
-     */
-    private ComplexNumber getPoint(int x, int y)
-    {
-        //User defined minimum and maximums
-        //This might not work if the user has changed these values
-        //but hasn't yet hit redraw.
-        //Hmmm... stupid users
-        double uMinX  = new Double(boxes[0].getText()).doubleValue();
-        double uMaxX  = new Double(boxes[1].getText()).doubleValue();
-        double uMinY  = new Double(boxes[2].getText()).doubleValue();
-        double uMaxY  = new Double(boxes[3].getText()).doubleValue();
-        //How much to increment the Mandelbrot values by each iteration
-        double ratioX = Math.abs(uMaxX - uMinX) / UIPane.getWidth();
-        double ratioY = Math.abs(uMaxY - uMinY) / UIPane.getHeight();
-        
-        return new ComplexNumber
-        (
-            uMinX + ratioX * x,
-            uMaxY - ratioY * y  //Minus because pixel y values are in reverse order to axis
-        );
-    }
-    
-    /**
-     * DragFollower
-     * 
-     * Responsible for following the users click and drag
-     * to zoom, and for drawing a rectangle to match that
-     * 
-     * @author Emily Shepherd
-     *
-     */
-    private class DragFollower implements MouseListener, MouseMotionListener
-    {
-        /**
-         * Where they started dragging
-         */
-        private MouseEvent startPoint;
-        
-        /**
-         * Where they are now
-         */
-        private MouseEvent currentPoint;
-        
-        /**
-         * Used to redraw the screen every 70ms
-         */
-        private Timer timer;
-        
-        /**
-         * Last ComplexNumber we drew last
-         * If it is the same, the screen won't
-         * be redrawn unnecessarily
-         */
-        private ComplexNumber lastDrawn;
-        
-        /**
-         * If true, it will redraw the JuliaUI in real
-         * time as you move your mouse.
-         */
-        private boolean realTime = false;
-        
-        /**
-         * DragFollower
-         * 
-         */
-        public DragFollower()
-        {
-            timer = new Timer();
-            reschedule();
-        }
-        
-        /**
-         * mouseDragged
-         * 
-         * Follows the mouse being dragged to zoom
-         */
-        public void mouseDragged(MouseEvent e)
-        {
-            if (startPoint == null)
-            {
-                startPoint = e;
-            }
-            else
-            {
-                currentPoint = e;
-            }
-        }
-        
-        /**
-         * reschedule
-         * 
-         * Reschedules the timer with our TimerTask
-         */
-        private void reschedule()
-        {
-            timer.schedule
-            (
-                new TimerTask()
-                {
-                    /**
-                     * run
-                     * 
-                     * Does the task
-                     */
-                    public void run()
-                    {
-                        //We aren't on the screen
-                        //Drawing is pointless
-                        if (currentPoint == null)
-                        {
-                            reschedule();
-                            return;
-                        }
-                        
-                        ComplexNumber thisPoint = getPoint(currentPoint.getX(), currentPoint.getY());
-                        
-                        //If we've already dealt with this point, there's nothing
-                        //to do here
-                        if (lastDrawn != null && lastDrawn.equals(thisPoint))
-                        {
-                            reschedule();
-                            return;
-                        }
-                        
-                        lastDrawn = thisPoint;
-                        
-                        //Real time drawing of the Julia set
-                        //Calling AlgorithmChecker functions when it is
-                        //running will be ignored, so the running() check
-                        //isn't strictly necessary - its just to stop pointless
-                        //checks down the line
-                        if (realTime && !julia.running())
-                        {
-                            julia.renderNumber(thisPoint);
-                        }
-                        
-                        //Repaint the screen for the dragging box
-                        if (startPoint != null)
-                        {
-                            repaint();
-                        }
-                        
-                        reschedule();
-                    }
-                },
-                70
-            );
-        }
-        
-        /**
-         * paint
-         * 
-         * Paints the red rectangle
-         * 
-         * @param _painter Ignores this, so that's good
-         */
-        public void paint(Graphics _painter)
-        {
-            //If we don't have a startPoint, we weren't dragging
-            if (startPoint == null) return;
-
-            Graphics painter = UIPane.getGraphics();
-            painter.setColor(Color.red);
-            
-            int coords[] = getCurrentCoords();
-            
-            painter.drawRect(coords[0], coords[1], coords[2], coords[3]);
-        }
-        
-        /**
-         * getCurrentCoords
-         * 
-         * Calculates the top left coords, width and
-         * height of our required rectangle from
-         * currentPoint and startPoint, because
-         * Graphics.drawRect() doesn't like negative
-         * widths, heights apparently.
-         * 
-         * @return Array of coordinates
-         */
-        private int[] getCurrentCoords()
-        {
-            int topX   = startPoint.getX();
-            int topY   = startPoint.getY();
-            int width  = currentPoint.getX() - startPoint.getX();
-            int height = currentPoint.getY() - startPoint.getY();
-            
-            //Minus widths / heights are bad. So flip the values
-            //if they are.
-            if (currentPoint.getX() < topX)
-            {
-                topX   = currentPoint.getX();
-                width *= -1;
-            }
-            if (currentPoint.getY() < topY)
-            {
-                topY    = currentPoint.getY();
-                height *= -1;
-            }
-            
-            return new int[] {topX, topY, width, height};
-        }
-        
-        /**
-         * mouseReleased
-         * 
-         * If dragging was in operation, this tells
-         * the controls the new axis bounds and sets the
-         * MandelbrotChecker redrawing the fractal in
-         * the zoomed in view.
-         */
-        public void mouseReleased(MouseEvent arg0)
-        {
-            //Nothing is happening here
-            if (timer == null || startPoint == null || currentPoint == null) return;
-            
-            int topX    = startPoint.getX();
-            int topY    = startPoint.getY();
-            int bottomX = currentPoint.getX();
-            int bottomY = currentPoint.getY();
-            
-            if (bottomX > topX)
-            {
-                topX    = bottomX;
-                bottomX = startPoint.getX();
-            }
-            if (bottomY > topY)
-            {
-                topY    = bottomY;
-                bottomY = startPoint.getY();
-            }
-            
-            ComplexNumber top    = getPoint(topX, bottomY);
-            ComplexNumber bottom = getPoint(bottomX, topY);
-          
-            //Tell the AlgorithmChecker, and set that off
-            ac.changeAxis(bottom.getReal(), top.getReal(), bottom.getImaginary(), top.getImaginary());
-            ac.start();
-            
-            //Update the GUI controls
-            boxes[0].setText(new Double(bottom.getReal()).toString());
-            boxes[1].setText(new Double(top.getReal()).toString());
-            boxes[2].setText(new Double(bottom.getImaginary()).toString());
-            boxes[3].setText(new Double(top.getImaginary()).toString());
-            
-            //Stop dragging
-            startPoint = null;
-        }
-
-        /**
-         * mouseMoved
-         * 
-         * Keeps tabs on the mouse position by saving
-         * it to currentPoint
-         */
-        public void mouseMoved(MouseEvent e)
-        {
-            currentPoint = e;
-        }
-        
-        /**
-         * mouseClicked
-         * 
-         * Switches live following on / off
-         * and updates the iterations - live gets 50,
-         * static gets 100
-         * 
-         */
-        public void mouseClicked(MouseEvent e)
-        {
-            realTime = !realTime;
-            
-            if (realTime)
-            {
-                julia.setIterations(50);
-                
-                julia.renderNumber(getPoint(e.getX(), e.getY()));
-            }
-            else
-            {
-                julia.setIterations(100);
-                
-                userSelectedPoint = getPoint(e.getX(), e.getY());
-                
-                julia.renderNumber(userSelectedPoint);
-            }
-        }
-        
-        /**
-         * Unused
-         */
-        public void mouseEntered(MouseEvent arg0) {}
-        public void mouseExited(MouseEvent arg0) {}
-        public void mousePressed(MouseEvent e){}
-    }
-}
-
-/**
- * BurningShipChecker
- */
-class BurningShipChecker extends AlgorithmChecker
-{
-    /**
-     * Calls parent
-     * 
-     * @param julia Is this a Julia set?
-     */
-    public BurningShipChecker(boolean julia)
-    {
-        super(julia);
-    }
-
-    /**
-     * calculate
-     * 
-     * Calculate the factal
-     */
-    public int calculate(ComplexNumber d, ComplexNumber c)
-    {
-        for (int i = 1; i < iterations; i++)
-        {
-            d = new ComplexNumber
-            (
-                Math.abs(d.getReal()),
-                Math.abs(d.getImaginary())
-            );
-            d.square();
-            d.add(c);
-            
-            if (d.modulusSquared() > 4)
-            {
-                return i;
-            }
-        }
-        
-        return iterations;
-    }
-}
+/**
+ * COMP1008 Coursework
+ * 
+ * 
+ * 
+ * @author Emily Shepherd
+ * @ecsId  ams2g11
+ */
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Frame;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.ImageFilter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import javax.imageio.ImageIO;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+
+
+/**
+ * Main
+ * 
+ * Starts the system.
+ * 
+ * @author Emily Shepherd
+ */
+public class Main
+{
+	/**
+	 * The most bytes of tiles openTileStore() keeps
+	 * on disk, 512MB unless the fractal.tiles system
+	 * property says otherwise. 0 stops the window
+	 * keeping any.
+	 * 
+	 * @see TileStore.setBudget
+	 */
+	public static final long TILE_BUDGET = Long.getLong("fractal.tiles", 512L << 20);
+	
+	/**
+	 * main
+	 * 
+	 * Starts the program by starting a new
+	 * MandelbrotUI JFrame. With arguments, it draws
+	 * one image to a file instead, without any
+	 * windows.
+	 * 
+	 * Up to TILE_BUDGET of tiles are kept in
+	 * ~/.fractal-tiles between runs, so places that
+	 * have been drawn before come back quickly. If it
+	 * can't be opened, they just aren't.
+	 * 
+	 * @param args Nothing, or the BatchRenderer's options
+	 * @see MandelbrotUI
+	 * @see BatchRenderer
+	 */
+	public static void main(String[] args)
+	{
+		if (args.length > 0)
+		{
+			//Must be set before anything touches AWT
+			System.setProperty("java.awt.headless", "true");
+			System.exit(BatchRenderer.run(args));
+		}
+		
+		if (TILE_BUDGET > 0)
+		{
+			openTileStore(new File(System.getProperty("user.home"), ".fractal-tiles"));
+		}
+		
+		new MandelbrotUI();
+	}
+	
+	/**
+	 * openTileStore
+	 * 
+	 * Opens a TileStore for every AlgorithmChecker to
+	 * use, with a budget of TILE_BUDGET, and makes
+	 * sure it is closed on the way out
+	 * 
+	 * @param directory Where the tiles are kept
+	 * @return The TileStore, or null if it couldn't be opened
+	 * @see TileStore
+	 */
+	public static TileStore openTileStore(File directory)
+	{
+		try
+		{
+			final TileStore store = new TileStore(directory, TILE_BUDGET);
+			
+			AlgorithmChecker.setTileStore(store);
+			
+			//Write whatever is still queued on the way out
+			Runtime.getRuntime().addShutdownHook
+			(
+				new Thread()
+				{
+					public void run()
+					{
+						try
+						{
+							store.close();
+						}
+						catch (IOException e)
+						{
+							//Too late to do anything about it
+						}
+					}
+				}
+			);
+			
+			return store;
+		}
+		catch (IOException e)
+		{
+			System.err.println("Not keeping tiles: " + e.getMessage());
+			
+			return null;
+		}
+	}
+}
+
+
+/**
+ * BatchRenderer
+ * 
+ * Draws one image straight to a PNG file, with no
+ * windows, so it can run on servers without a
+ * display. It is started by giving Main arguments:
+ * 
+ *   java -Djava.awt.headless=true Main [options] out.png
+ * 
+ * The pool uses every core, and how many pixels a
+ * second it managed is printed at the end. Images
+ * too big to hold in memory are drawn and saved a
+ * band at a time.
+ * 
+ * @author Emily Shepherd
+ * @see    USAGE
+ */
+class BatchRenderer
+{
+    /**
+     * Printed when the arguments are wrong, or for --help
+     */
+    private static final String USAGE =
+        "Usage: java Main [options] output.png\n"
+      + "  --fractal mandelbrot|ship        which fractal (mandelbrot)\n"
+      + "  --julia RE,IM                    draw the Julia set with this seed\n"
+      + "  --axis XMIN,XMAX,YMIN,YMAX       what to draw (-2,2,-1.6,1.6)\n"
+      + "  --size WIDTHxHEIGHT              image size (1920x1080)\n"
+      + "  --iterations N                   iterations per pixel (100)\n"
+      + "  --smooth                         smooth colouring\n"
+      + "  --palette FILE                   gradient file to colour with\n"
+      + "  --subdivision                    use Mariani-Silver subdivision\n"
+      + "  --tiles DIR                      read and keep tiles in a TileStore\n"
+      + "  --stream                         draw in bands, so any size fits in memory\n"
+      + "                                   (always on above 32 million pixels)\n"
+      + "  --keyframes FILE                 draw a zoom animation through these, to\n"
+      + "                                   output-00000.png etc, or a pattern like\n"
+      + "                                   frame%04d.png\n"
+      + "  --frames N                       frames from one keyframe to the next (60)\n";
+    
+    /**
+     * Images with more pixels than this are always
+     * streamed, as the whole image would need more
+     * than 128MB for its colours alone
+     */
+    private static final long STREAM_PIXELS = 1L << 25;
+    
+    /**
+     * About how many pixels are in each band when
+     * streaming. Two bands are in memory at once: one
+     * being drawn, the other being saved.
+     */
+    private static final int BAND_PIXELS = 1 << 22;
+    
+    /**
+     * The options, with their defaults
+     */
+    private String        fractal    = "mandelbrot";
+    private ComplexNumber seed       = null;
+    private BigDecimal[]  axis       =
+    {
+        new BigDecimal("-2"), new BigDecimal("2"), new BigDecimal("-1.6"), new BigDecimal("1.6")
+    };
+    private int           width      = 1920;
+    private int           height     = 1080;
+    private int           iterations = 100;
+    private boolean       smooth     = false;
+    private boolean       subdivide  = false;
+    private boolean       stream     = false;
+    private File          palette    = null;
+    private File          tiles      = null;
+    private File          keyframes  = null;
+    private int           frames     = 60;
+    private File          output     = null;
+    
+    /**
+     * The animation's file names, as a String.format()
+     * pattern for the frame number
+     * 
+     * @see framePattern
+     */
+    private String framePattern = null;
+    
+    /**
+     * run
+     * 
+     * Reads the arguments, draws the image and
+     * saves it
+     * 
+     * @param args The command line arguments
+     * @return The exit code: 0 if it worked, 1 if
+     *         drawing or saving failed, 2 if the
+     *         arguments were wrong
+     */
+    public static int run(String[] args)
+    {
+        BatchRenderer renderer = new BatchRenderer();
+        
+        try
+        {
+            if (!renderer.parse(args))
+            {
+                System.out.print(USAGE);
+                return 0;
+            }
+        }
+        catch (IllegalArgumentException e)
+        {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            return 2;
+        }
+        
+        try
+        {
+            renderer.render();
+            return 0;
+        }
+        catch (Exception e)
+        {
+            System.err.println("Couldn't draw " + renderer.output + ": " + e);
+            return 1;
+        }
+    }
+    
+    /**
+     * parse
+     * 
+     * Sets the options from the arguments
+     * 
+     * @param args The command line arguments
+     * @return false if they asked for --help
+     * @throws IllegalArgumentException If an argument is wrong
+     */
+    private boolean parse(String[] args)
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            String arg = args[i];
+            
+            if (arg.equals("--help") || arg.equals("-h"))
+            {
+                return false;
+            }
+            else if (arg.equals("--smooth"))
+            {
+                smooth = true;
+            }
+            else if (arg.equals("--subdivision"))
+            {
+                subdivide = true;
+            }
+            else if (arg.equals("--stream"))
+            {
+                stream = true;
+            }
+            else if (arg.startsWith("--"))
+            {
+                if (i + 1 == args.length)
+                {
+                    throw new IllegalArgumentException(arg + " needs a value");
+                }
+                
+                option(arg, args[++i]);
+            }
+            else if (output == null)
+            {
+                output = new File(arg);
+            }
+            else
+            {
+                throw new IllegalArgumentException("Only one output file, please: " + arg);
+            }
+        }
+        
+        if (output == null)
+        {
+            throw new IllegalArgumentException("Where should the image go?");
+        }
+        
+        //Checked now, rather than once the levels are drawn
+        if (keyframes != null)
+        {
+            framePattern = framePattern(output.getName());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * framePattern
+     * 
+     * Works out the pattern for an animation's file
+     * names. Only the name is used, so a % in the
+     * directory is left alone. A name without one
+     * gets -%05d before its extension.
+     * 
+     * @param name The output file's name
+     * @return The pattern
+     * @throws IllegalArgumentException If it doesn't number the frames
+     */
+    private static String framePattern(String name)
+    {
+        String pattern = name;
+        
+        if (name.indexOf('%') < 0)
+        {
+            int dot = name.lastIndexOf('.');
+            
+            pattern = dot >= 0
+                ? name.substring(0, dot) + "-%05d" + name.substring(dot)
+                : name + "-%05d.png";
+        }
+        
+        try
+        {
+            //Otherwise every frame would be saved over the last
+            if (!String.format(pattern, 0).equals(String.format(pattern, 1)))
+            {
+                return pattern;
+            }
+        }
+        catch (IllegalFormatException e)
+        {
+            //Not a pattern at all
+        }
+        
+        throw new IllegalArgumentException("The frames' file name needs the frame number, like frame%04d.png: " + name);
+    }
+    
+    /**
+     * option
+     * 
+     * Sets an option that takes a value
+     * 
+     * @param name  The option, with its --
+     * @param value Its value
+     * @throws IllegalArgumentException If either is wrong
+     */
+    private void option(String name, String value)
+    {
+        try
+        {
+            if (name.equals("--fractal"))
+            {
+                if (!value.equals("mandelbrot") && !value.equals("ship"))
+                {
+                    throw new IllegalArgumentException("Unknown fractal: " + value);
+                }
+                
+                fractal = value;
+            }
+            else if (name.equals("--julia"))
+            {
+                String[] parts = split(value, 2);
+                
+                seed = new ComplexNumber(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
+            }
+            else if (name.equals("--axis"))
+            {
+                String[] parts = split(value, 4);
+                
+                for (int i = 0; i < 4; i++)
+                {
+                    axis[i] = new BigDecimal(parts[i]);
+                }
+                
+                if (axis[0].compareTo(axis[1]) >= 0 || axis[2].compareTo(axis[3]) >= 0)
+                {
+                    throw new IllegalArgumentException("The axis minimums must be below the maximums");
+                }
+            }
+            else if (name.equals("--size"))
+            {
+                String[] parts = value.split("x");
+                
+                if (parts.length != 2)
+                {
+                    throw new IllegalArgumentException("--size should look like 1920x1080");
+                }
+                
+                width  = Integer.parseInt(parts[0]);
+                height = Integer.parseInt(parts[1]);
+                
+                if (width <= 0 || height <= 0)
+                {
+                    throw new IllegalArgumentException("The size must be positive");
+                }
+            }
+            else if (name.equals("--iterations"))
+            {
+                iterations = Integer.parseInt(value);
+                
+                if (iterations <= 0)
+                {
+                    throw new IllegalArgumentException("The iterations must be positive");
+                }
+            }
+            else if (name.equals("--palette"))
+            {
+                palette = new File(value);
+            }
+            else if (name.equals("--tiles"))
+            {
+                tiles = new File(value);
+            }
+            else if (name.equals("--keyframes"))
+            {
+                keyframes = new File(value);
+            }
+            else if (name.equals("--frames"))
+            {
+                frames = Integer.parseInt(value);
+                
+                if (frames <= 0)
+                {
+                    throw new IllegalArgumentException("The frames must be positive");
+                }
+            }
+            else
+            {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        //Thrown by the parse methods, and BigDecimal
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("Not a number in " + name + " " + value);
+        }
+    }
+    
+    /**
+     * split
+     * 
+     * @param value  Comma separated numbers
+     * @param length How many there should be
+     * @return The numbers
+     * @throws IllegalArgumentException If there are the wrong number
+     */
+    private static String[] split(String value, int length)
+    {
+        String[] parts = value.split(",");
+        
+        if (parts.length != length)
+        {
+            throw new IllegalArgumentException("Expected " + length + " comma separated numbers: " + value);
+        }
+        
+        return parts;
+    }
+    
+    /**
+     * createChecker
+     * 
+     * @return An AlgorithmChecker set up with the options
+     */
+    private AlgorithmChecker createChecker() throws IOException
+    {
+        AlgorithmChecker checker = fractal.equals("ship")
+            ? new BurningShipChecker(seed != null)
+            : new MandelbrotChecker(seed != null);
+        
+        checker.setVectorised(true);
+        checker.setSmooth(smooth);
+        checker.setSubdivision(subdivide);
+        checker.setIterations(iterations);
+        checker.resize(width, height);
+        checker.changeAxis(axis[0], axis[1], axis[2], axis[3]);
+        
+        if (seed != null)
+        {
+            checker.setC(seed);
+        }
+        if (palette != null)
+        {
+            checker.setPalette(GradientPalette.load(palette));
+        }
+        
+        return checker;
+    }
+    
+    /**
+     * render
+     * 
+     * Draws the image, saves it, and prints how long
+     * each took
+     */
+    private void render() throws Exception
+    {
+        if (tiles != null)
+        {
+            Main.openTileStore(tiles);
+        }
+        
+        if (keyframes != null)
+        {
+            renderAnimation();
+            return;
+        }
+        if (stream || (long)width * height > STREAM_PIXELS)
+        {
+            renderBands();
+            return;
+        }
+        
+        AlgorithmChecker checker = createChecker();
+        
+        long          start = System.nanoTime();
+        BufferedImage image = checker.start().get();
+        long          drawn = System.nanoTime();
+        
+        if (!ImageIO.write(image, "png", output))
+        {
+            throw new IOException("No PNG writer");
+        }
+        
+        long   saved   = System.nanoTime();
+        double seconds = (drawn - start) / 1e9;
+        
+        System.out.printf
+        (
+            "Drew %dx%d in %.0f ms on %d threads: %.2f million pixels/s%n",
+            width, height, seconds * 1000, AlgorithmChecker.getThreads(),
+            (double)width * height / seconds / 1e6
+        );
+        System.out.printf("Saved %s in %.0f ms%n", output, (saved - drawn) / 1e6);
+        printTiles();
+    }
+    
+    /**
+     * renderBands
+     * 
+     * Draws the image a band of rows at a time, and
+     * saves each band as soon as it is drawn, so only
+     * two bands are ever in memory however big the
+     * image is. The pool draws the next band while
+     * this thread compresses the last one.
+     * 
+     * @see PNGStreamWriter
+     */
+    private void renderBands() throws Exception
+    {
+        AlgorithmChecker checker = createChecker();
+        
+        //Whole tiles, unless a tile's worth of rows is too much
+        int rows = Math.min(height, Math.max(1, BAND_PIXELS / width));
+        
+        if (rows > AlgorithmChecker.getTileSize())
+        {
+            rows -= rows % AlgorithmChecker.getTileSize();
+        }
+        
+        long start   = System.nanoTime();
+        long drawing = 0;
+        
+        PNGStreamWriter png = new PNGStreamWriter
+        (
+            new BufferedOutputStream(new FileOutputStream(output)), width, height
+        );
+        
+        try
+        {
+            CompletableFuture<BufferedImage> next = drawBand(checker, 0, rows);
+            
+            for (int top = 0; top < height; top += rows)
+            {
+                long          waiting = System.nanoTime();
+                BufferedImage band    = next.get();
+                
+                drawing += System.nanoTime() - waiting;
+                
+                if (top + rows < height)
+                {
+                    next = drawBand(checker, top + rows, Math.min(rows, height - top - rows));
+                }
+                
+                png.writeRows(((DataBufferInt)band.getRaster().getDataBuffer()).getData(), band.getHeight());
+            }
+        }
+        catch (Exception e)
+        {
+            //Half a PNG is no use to anyone
+            png.abort();
+            output.delete();
+            
+            throw e;
+        }
+        
+        png.close();
+        
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.printf
+        (
+            "Drew and saved %dx%d in %.0f ms on %d threads, in bands of %d rows: %.2f million pixels/s%n",
+            width, height, seconds * 1000, AlgorithmChecker.getThreads(), rows,
+            (double)width * height / seconds / 1e6
+        );
+        System.out.printf("Waited %.0f ms for bands to be drawn%n", drawing / 1e6);
+        printTiles();
+    }
+    
+    /**
+     * renderAnimation
+     * 
+     * Draws a zoom animation through the keyframes,
+     * saving the frames as numbered files
+     * 
+     * @see ZoomAnimator
+     */
+    private void renderAnimation() throws Exception
+    {
+        ArrayList<ZoomAnimator.Keyframe> keys = ZoomAnimator.load(keyframes);
+        
+        //The keyframes say whether it's a Julia set
+        seed = keys.get(0).getSeed();
+        
+        new ZoomAnimator
+        (
+            createChecker(), createChecker(), width, height, output.getParentFile(), framePattern
+        ).render(keys, frames);
+        printTiles();
+    }
+    
+    /**
+     * drawBand
+     * 
+     * Starts drawing the rows from top to top + rows
+     * 
+     * @param checker The AlgorithmChecker to draw with
+     * @param top     The first row
+     * @param rows    The number of rows
+     * @return The future from AlgorithmChecker.start
+     * @see   AlgorithmChecker.setBand
+     */
+    private static CompletableFuture<BufferedImage> drawBand(AlgorithmChecker checker, int top, int rows)
+    {
+        checker.setBand(top, rows);
+        
+        return checker.start();
+    }
+    
+    /**
+     * printTiles
+     * 
+     * Prints how well the TileStore did, if there is one
+     */
+    private static void printTiles()
+    {
+        if (AlgorithmChecker.getTileStore() != null)
+        {
+            System.out.println("Tiles: " + AlgorithmChecker.getTileStore());
+        }
+    }
+}
+
+
+/**
+ * PNGStreamWriter
+ * 
+ * Writes a PNG a few rows at a time, so the whole
+ * image never has to be in memory, unlike ImageIO
+ * which needs a complete RenderedImage. Only what is
+ * needed for 8 bit RGB is written: each row is
+ * filtered with the Sub filter, which suits smooth
+ * gradients, then deflated and cut into IDAT chunks.
+ * 
+ * @author Emily Shepherd
+ * @see    BatchRenderer.renderBands
+ */
+class PNGStreamWriter
+{
+    /**
+     * Every PNG file starts with these
+     */
+    private static final byte[] SIGNATURE = {(byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    
+    /**
+     * The most data put into one IDAT chunk
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+    
+    /**
+     * The file
+     */
+    private final DataOutputStream out;
+    
+    /**
+     * The image size
+     */
+    private final int width;
+    private final int height;
+    
+    /**
+     * Compresses the rows into chunk, which is
+     * written out as an IDAT chunk whenever it fills
+     */
+    private final Deflater deflater = new Deflater();
+    private final byte[]   chunk    = new byte[CHUNK_SIZE];
+    
+    /**
+     * One row, with its filter type byte first
+     */
+    private final byte[] row;
+    
+    /**
+     * The number of rows written so far
+     */
+    private int rows = 0;
+    
+    /**
+     * PNGStreamWriter
+     * 
+     * Writes the PNG header
+     * 
+     * @param out    Where to write the PNG. It is closed by close().
+     * @param width  The image width
+     * @param height The image height
+     * @throws IOException If out can't be written to
+     */
+    public PNGStreamWriter(OutputStream out, int width, int height) throws IOException
+    {
+        this.out    = new DataOutputStream(out);
+        this.width  = width;
+        this.height = height;
+        this.row    = new byte[1 + 3 * width];
+        
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream      data   = new DataOutputStream(header);
+        
+        data.writeInt(width);
+        data.writeInt(height);
+        data.writeByte(8);  //Bits per sample
+        data.writeByte(2);  //RGB
+        data.writeByte(0);  //Deflate
+        data.writeByte(0);  //Adaptive filtering
+        data.writeByte(0);  //Not interlaced
+        
+        this.out.write(SIGNATURE);
+        writeChunk("IHDR", header.toByteArray(), header.size());
+    }
+    
+    /**
+     * writeRows
+     * 
+     * Writes the next rows of the image
+     * 
+     * @param pixels The rows' pixels, as from a TYPE_INT_RGB
+     *               BufferedImage, one after the other
+     * @param count  How many rows there are
+     * @throws IOException If there are too many rows, or they can't be written
+     */
+    public void writeRows(int[] pixels, int count) throws IOException
+    {
+        if (rows + count > height)
+        {
+            throw new IOException("The image only has " + height + " rows");
+        }
+        
+        //Sub filter: each byte is sent as its difference from
+        //the same colour in the pixel to its left
+        row[0] = 1;
+        
+        for (int y = 0; y < count; y++)
+        {
+            int offset = y * width;
+            int last   = 0;
+            
+            for (int x = 0, i = 1; x < width; x++, i += 3)
+            {
+                int rgb = pixels[offset + x];
+                
+                row[i]     = (byte)((rgb >> 16) - (last >> 16));
+                row[i + 1] = (byte)((rgb >>  8) - (last >>  8));
+                row[i + 2] = (byte)(rgb - last);
+                
+                last = rgb;
+            }
+            
+            deflater.setInput(row);
+            
+            while (!deflater.needsInput())
+            {
+                deflate();
+            }
+        }
+        
+        rows += count;
+    }
+    
+    /**
+     * close
+     * 
+     * Finishes the image and closes the file
+     * 
+     * @throws IOException If some rows are missing, or it can't be written
+     */
+    public void close() throws IOException
+    {
+        try
+        {
+            if (rows < height)
+            {
+                throw new IOException("Only " + rows + " of " + height + " rows were written");
+            }
+            
+            deflater.finish();
+            
+            while (!deflater.finished())
+            {
+                deflate();
+            }
+            
+            writeChunk("IEND", chunk, 0);
+        }
+        finally
+        {
+            deflater.end();
+            out.close();
+        }
+    }
+    
+    /**
+     * abort
+     * 
+     * Closes the file without finishing the image,
+     * when something has gone wrong
+     */
+    public void abort()
+    {
+        deflater.end();
+        
+        try
+        {
+            out.close();
+        }
+        catch (IOException e)
+        {
+            //It's being given up on anyway
+        }
+    }
+    
+    /**
+     * deflate
+     * 
+     * Compresses as much as fits in an IDAT chunk,
+     * and writes it
+     */
+    private void deflate() throws IOException
+    {
+        int length = deflater.deflate(chunk);
+        
+        if (length > 0)
+        {
+            writeChunk("IDAT", chunk, length);
+        }
+    }
+    
+    /**
+     * writeChunk
+     * 
+     * @param type   The chunk's four letter type
+     * @param data   What is in it
+     * @param length How much of data to write
+     */
+    private void writeChunk(String type, byte[] data, int length) throws IOException
+    {
+        byte[] name = type.getBytes("US-ASCII");
+        CRC32  crc  = new CRC32();
+        
+        crc.update(name);
+        crc.update(data, 0, length);
+        
+        out.writeInt(length);
+        out.write(name);
+        out.write(data, 0, length);
+        out.writeInt((int)crc.getValue());
+    }
+}
+
+
+/**
+ * ZoomAnimator
+ * 
+ * Draws the frames of a zoom video through a list
+ * of keyframes, and saves them as numbered PNGs.
+ * Between two keyframes the width changes
+ * exponentially, so the zoom looks steady, and the
+ * centre moves so that every frame is the first
+ * one scaled about the same fixed point.
+ * 
+ * That means the frames of a zoom don't have to be
+ * drawn one at a time. Instead, levels are drawn at
+ * twice the frame size, each half as wide as the
+ * last and lined up on the fixed point, so
+ * AlgorithmChecker copies a quarter of each level's
+ * pixels from the one before. Every frame is shrunk
+ * from the level that covers it, with the frames
+ * shared between threads. Keyframes that pan
+ * without zooming, zoom about a point far outside
+ * the frames, or change the Julia seed, are drawn
+ * frame by frame.
+ * 
+ * The keyframe file has one keyframe per line:
+ * 
+ *   RE IM WIDTH [SEED_RE SEED_IM]
+ * 
+ * which are the centre, the width on the x axis and,
+ * for Julia sets, the seed. Lines starting with #
+ * are ignored.
+ * 
+ * @author Emily Shepherd
+ * @see    BatchRenderer
+ */
+class ZoomAnimator
+{
+    /**
+     * Levels are this many times wider and taller
+     * than the frames, so even the frames shrunk least
+     * have a level pixel for each of theirs
+     */
+    private static final int SUPERSAMPLE = 2;
+    
+    /**
+     * Keyframes whose widths are closer than this are
+     * a pan, as the fixed point would be too far away
+     * to work out accurately
+     */
+    private static final double MIN_ZOOM = 0.001;
+    
+    /**
+     * Draws the levels, and the frames drawn one at a
+     * time
+     */
+    private final AlgorithmChecker levels;
+    private final AlgorithmChecker frames;
+    
+    /**
+     * The frame size
+     */
+    private final int width;
+    private final int height;
+    
+    /**
+     * The directory the files go in, or null for the
+     * current one, and their names, as a
+     * String.format() pattern for the frame number
+     */
+    private final File   directory;
+    private final String pattern;
+    
+    /**
+     * Shrinks and saves the frames
+     */
+    private final ExecutorService savers = Executors.newFixedThreadPool
+    (
+        AlgorithmChecker.getThreads(),
+        new ThreadFactory()
+        {
+            public Thread newThread(Runnable r)
+            {
+                Thread t = new Thread(r, "ZoomAnimator");
+                t.setDaemon(true);
+                
+                return t;
+            }
+        }
+    );
+    
+    /**
+     * Frames being shrunk or saved, oldest first
+     */
+    private final ArrayDeque<Future<Void>> saving = new ArrayDeque<Future<Void>>();
+    
+    /**
+     * The number of frames saved, and the number of
+     * levels drawn for them
+     */
+    private int frameCount = 0;
+    private int levelCount = 0;
+    
+    /**
+     * ZoomAnimator
+     * 
+     * @param levels    An AlgorithmChecker to draw the levels with
+     * @param frames    An AlgorithmChecker to draw single frames with
+     * @param width     The frame width
+     * @param height    The frame height
+     * @param directory The directory to save to, or null for the
+     *                  current one
+     * @param pattern   The files' names, as a String.format()
+     *                  pattern for the frame number
+     */
+    public ZoomAnimator(AlgorithmChecker levels, AlgorithmChecker frames, int width, int height, File directory, String pattern)
+    {
+        this.levels    = levels;
+        this.frames    = frames;
+        this.width     = width;
+        this.height    = height;
+        this.directory = directory;
+        this.pattern   = pattern;
+        
+        frames.resize(width, height);
+    }
+    
+    /**
+     * load
+     * 
+     * Reads keyframes from a file in the format above
+     * 
+     * @param file The file
+     * @return The keyframes, in order
+     * @throws IOException If it can't be read, or isn't keyframes
+     */
+    public static ArrayList<Keyframe> load(File file) throws IOException
+    {
+        ArrayList<Keyframe> keyframes = new ArrayList<Keyframe>();
+        
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        
+        try
+        {
+            String line;
+            
+            for (int number = 1; (line = reader.readLine()) != null; number++)
+            {
+                String[] parts = line.trim().split("\\s+");
+                
+                if (parts[0].isEmpty() || parts[0].startsWith("#")) continue;
+                
+                if (parts.length != 3 && parts.length != 5)
+                {
+                    throw new IOException(file + " line " + number + ": expected three or five values");
+                }
+                
+                try
+                {
+                    Keyframe keyframe = new Keyframe
+                    (
+                        new BigDecimal(parts[0]), new BigDecimal(parts[1]), new BigDecimal(parts[2]),
+                        parts.length == 5
+                            ? new ComplexNumber(Double.parseDouble(parts[3]), Double.parseDouble(parts[4]))
+                            : null
+                    );
+                    
+                    if (keyframe.width.signum() <= 0)
+                    {
+                        throw new IOException(file + " line " + number + ": the width must be positive");
+                    }
+                    if (!keyframes.isEmpty() && (keyframes.get(0).seed == null) != (keyframe.seed == null))
+                    {
+                        throw new IOException(file + " line " + number + ": all or none of the keyframes need seeds");
+                    }
+                    
+                    keyframes.add(keyframe);
+                }
+                catch (NumberFormatException e)
+                {
+                    throw new IOException(file + " line " + number + ": " + e.getMessage());
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+        
+        if (keyframes.size() < 2)
+        {
+            throw new IOException(file + ": an animation needs at least two keyframes");
+        }
+        
+        return keyframes;
+    }
+    
+    /**
+     * render
+     * 
+     * Draws and saves every frame, then prints how
+     * many frames a minute that came to
+     * 
+     * @param keyframes The keyframes to go through
+     * @param steps     The number of frames from one keyframe to the next
+     */
+    public void render(ArrayList<Keyframe> keyframes, int steps) throws Exception
+    {
+        long start = System.nanoTime();
+        
+        try
+        {
+            for (int i = 0; i + 1 < keyframes.size(); i++)
+            {
+                Keyframe a     = keyframes.get(i);
+                Keyframe b     = keyframes.get(i + 1);
+                
+                //The last keyframe is a frame of its own
+                int      count = i + 2 == keyframes.size() ? steps + 1 : steps;
+                int      drawn = levelCount;
+                
+                if (a.sameSeed(b) && zoom(a, b, i * steps, count, steps))
+                {
+                    System.out.printf
+                    (
+                        "Keyframes %d to %d: %d frames from %d levels%n",
+                        i + 1, i + 2, count, levelCount - drawn
+                    );
+                }
+                else
+                {
+                    pan(a, b, i * steps, count, steps);
+                    
+                    System.out.printf("Keyframes %d to %d: %d frames drawn one at a time%n", i + 1, i + 2, count);
+                }
+            }
+            
+            while (!saving.isEmpty())
+            {
+                saving.removeFirst().get();
+            }
+        }
+        finally
+        {
+            savers.shutdownNow();
+        }
+        
+        double seconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.printf
+        (
+            "Drew and saved %d %dx%d frames in %.1f s on %d threads: %.1f frames/minute%n",
+            frameCount, width, height, seconds, AlgorithmChecker.getThreads(),
+            frameCount / seconds * 60
+        );
+    }
+    
+    /**
+     * zoom
+     * 
+     * Draws the frames between two keyframes from
+     * levels. Each level covers every frame up to half
+     * its width, whichever way the zoom goes, so the
+     * levels are drawn widest first and their frames
+     * saved as soon as they are done.
+     * 
+     * @param a     The keyframe to start at
+     * @param b     The keyframe to end at
+     * @param first The number of the first frame
+     * @param count How many frames to draw
+     * @param steps The number of frames from a to b
+     * @return false if the fixed point is so far outside the
+     *         frames that the levels would be too big, so
+     *         nothing was drawn
+     */
+    private boolean zoom(Keyframe a, Keyframe b, int first, int count, int steps) throws Exception
+    {
+        BigDecimal[] fixed = a.fixedPoint(b);
+        
+        if (fixed == null)
+        {
+            return false;
+        }
+        
+        Keyframe     big   = a.width.compareTo(b.width) >= 0 ? a : b;
+        double       ratio = b.width.doubleValue() / a.width.doubleValue();
+        
+        //The widest frame's edges, from the fixed point
+        double wide   = big.width.doubleValue();
+        double left   = big.real.subtract(fixed[0]).doubleValue() - wide / 2;
+        double top    = big.imaginary.subtract(fixed[1]).doubleValue() + wide * height / width / 2;
+        double right  = left + wide;
+        double bottom = top - wide * height / width;
+        
+        //Level 0 has to hold the widest frame and the one
+        //half its size. Its edges are a whole number of
+        //pixels from the fixed point, so every level lines
+        //up with the next, with one pixel spare to blend.
+        double step    = wide / (SUPERSAMPLE * width);
+        long   pixelsL = (long)Math.floor(Math.min(left,   left   / 2) / step);
+        long   pixelsR = (long)Math.ceil (Math.max(right,  right  / 2) / step) + 1;
+        long   pixelsT = (long)Math.ceil (Math.max(top,    top    / 2) / step);
+        long   pixelsB = (long)Math.floor(Math.min(bottom, bottom / 2) / step) - 1;
+        
+        //A fixed point inside the frames needs nothing
+        //more than the widest frame
+        if ((pixelsR - pixelsL) * (pixelsT - pixelsB) > 2L * SUPERSAMPLE * SUPERSAMPLE * width * height)
+        {
+            return false;
+        }
+        
+        levels.resize((int)(pixelsR - pixelsL), (int)(pixelsT - pixelsB));
+        
+        if (a.seed != null)
+        {
+            levels.setC(a.seed);
+        }
+        
+        //Which level each frame is shrunk from
+        int[]    level   = new int[count];
+        double[] scales  = new double[count];
+        int      deepest = 0;
+        
+        for (int n = 0; n < count; n++)
+        {
+            //How wide the frame is compared to the widest
+            scales[n] = Math.pow(ratio, big == a ? (double)n / steps : (double)n / steps - 1);
+            level[n]  = Math.max(0, (int)Math.floor(-Math.log(scales[n]) / Math.log(2)));
+            deepest   = Math.max(deepest, level[n]);
+        }
+        
+        for (int l = 0; l <= deepest; l++)
+        {
+            BufferedImage image     = null;
+            double        levelStep = Math.scalb(step, -l);
+            BigDecimal    exactStep = new BigDecimal(levelStep);
+            
+            for (int n = 0; n < count; n++)
+            {
+                if (level[n] != l) continue;
+                
+                //Only levels with frames are drawn
+                if (image == null)
+                {
+                    levels.changeAxis
+                    (
+                        fixed[0].add(exactStep.multiply(BigDecimal.valueOf(pixelsL))),
+                        fixed[0].add(exactStep.multiply(BigDecimal.valueOf(pixelsR))),
+                        fixed[1].add(exactStep.multiply(BigDecimal.valueOf(pixelsB))),
+                        fixed[1].add(exactStep.multiply(BigDecimal.valueOf(pixelsT)))
+                    );
+                    
+                    image = levels.start().get();
+                    levelCount++;
+                }
+                
+                //Where the frame's top left pixel is in the level,
+                //and how far apart its pixels are
+                double f = scales[n];
+                
+                shrink
+                (
+                    first + n, image,
+                    f * left / levelStep - pixelsL, pixelsT - f * top / levelStep,
+                    f * wide / width / levelStep
+                );
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * pan
+     * 
+     * Draws the frames between two keyframes one at a
+     * time, for when they can't be made from levels
+     * 
+     * @param a     The keyframe to start at
+     * @param b     The keyframe to end at
+     * @param first The number of the first frame
+     * @param count How many frames to draw
+     * @param steps The number of frames from a to b
+     */
+    private void pan(Keyframe a, Keyframe b, int first, int count, int steps) throws Exception
+    {
+        for (int n = 0; n < count; n++)
+        {
+            double     t     = (double)n / steps;
+            BigDecimal wide  = a.widthAt(b, t);
+            BigDecimal tall  = wide.multiply(BigDecimal.valueOf(height)).divide
+            (
+                BigDecimal.valueOf(width), MathContext.DECIMAL128
+            );
+            BigDecimal[] centre = a.centreAt(b, t);
+            BigDecimal   two    = BigDecimal.valueOf(2);
+            
+            frames.changeAxis
+            (
+                centre[0].subtract(wide.divide(two)), centre[0].add(wide.divide(two)),
+                centre[1].subtract(tall.divide(two)), centre[1].add(tall.divide(two))
+            );
+            
+            if (a.seed != null)
+            {
+                frames.setC(new ComplexNumber
+                (
+                    a.seed.getReal()      + (b.seed.getReal()      - a.seed.getReal())      * t,
+                    a.seed.getImaginary() + (b.seed.getImaginary() - a.seed.getImaginary()) * t
+                ));
+            }
+            
+            save(first + n, frames.start().get());
+        }
+    }
+    
+    /**
+     * shrink
+     * 
+     * Makes a frame from a level, on one of the savers,
+     * and saves it. Each frame pixel is blended from
+     * the four level pixels around where it lands.
+     * 
+     * @param number The frame number
+     * @param level  The level image
+     * @param x      Where the frame's left column is in the level
+     * @param y      Where the frame's top row is in the level
+     * @param scale  The number of level pixels between frame pixels
+     */
+    private void shrink(final int number, final BufferedImage level, final double x, final double y, final double scale) throws Exception
+    {
+        submit(new Callable<Void>()
+        {
+            public Void call() throws IOException
+            {
+                BufferedImage frame  = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                int[]         to     = ((DataBufferInt)frame.getRaster().getDataBuffer()).getData();
+                int[]         from   = ((DataBufferInt)level.getRaster().getDataBuffer()).getData();
+                int           stride = level.getWidth();
+                
+                for (int v = 0; v < height; v++)
+                {
+                    double down = y + v * scale;
+                    int    row  = Math.max(0, Math.min(level.getHeight() - 2, (int)Math.floor(down)));
+                    double dy   = Math.max(0, Math.min(1, down - row));
+                    
+                    for (int u = 0; u < width; u++)
+                    {
+                        double across = x + u * scale;
+                        int    column = Math.max(0, Math.min(stride - 2, (int)Math.floor(across)));
+                        double dx     = Math.max(0, Math.min(1, across - column));
+                        int    i      = row * stride + column;
+                        
+                        to[v * width + u] = mix
+                        (
+                            mix(from[i],          from[i + 1],          dx),
+                            mix(from[i + stride], from[i + stride + 1], dx),
+                            dy
+                        );
+                    }
+                }
+                
+                write(number, frame);
+                
+                return null;
+            }
+        });
+    }
+    
+    /**
+     * save
+     * 
+     * Saves a frame on one of the savers
+     * 
+     * @param number The frame number
+     * @param frame  The frame
+     */
+    private void save(final int number, final BufferedImage frame) throws Exception
+    {
+        submit(new Callable<Void>()
+        {
+            public Void call() throws IOException
+            {
+                write(number, frame);
+                
+                return null;
+            }
+        });
+    }
+    
+    /**
+     * submit
+     * 
+     * Gives a frame to the savers. If they are too far
+     * behind, this waits, so frames don't pile up in
+     * memory.
+     * 
+     * @param task Makes and saves the frame
+     */
+    private void submit(Callable<Void> task) throws Exception
+    {
+        while (saving.size() >= 2 * AlgorithmChecker.getThreads())
+        {
+            saving.removeFirst().get();
+        }
+        
+        saving.addLast(savers.submit(task));
+        frameCount++;
+    }
+    
+    /**
+     * write
+     * 
+     * @param number The frame number
+     * @param frame  The frame
+     * @throws IOException If it can't be saved
+     */
+    private void write(int number, BufferedImage frame) throws IOException
+    {
+        File file = new File(directory, String.format(pattern, number));
+        
+        if (!ImageIO.write(frame, "png", file))
+        {
+            throw new IOException("No PNG writer");
+        }
+    }
+    
+    /**
+     * mix
+     * 
+     * @param a The first colour
+     * @param b The second colour
+     * @param t How far to go from a to b, from 0 to 1
+     * @return The colour in between
+     */
+    private static int mix(int a, int b, double t)
+    {
+        int red   = (a >> 16) & 0xFF;
+        int green = (a >>  8) & 0xFF;
+        int blue  =  a        & 0xFF;
+        
+        red   += (int)Math.round((((b >> 16) & 0xFF) - red)   * t);
+        green += (int)Math.round((((b >>  8) & 0xFF) - green) * t);
+        blue  += (int)Math.round(( (b        & 0xFF) - blue)  * t);
+        
+        return red << 16 | green << 8 | blue;
+    }
+    
+    /**
+     * Keyframe
+     * 
+     * A place the animation passes through
+     */
+    public static class Keyframe
+    {
+        /**
+         * The centre, and the width on the x axis
+         */
+        private final BigDecimal real;
+        private final BigDecimal imaginary;
+        private final BigDecimal width;
+        
+        /**
+         * The Julia seed, or null
+         */
+        private final ComplexNumber seed;
+        
+        /**
+         * Keyframe
+         * 
+         * @param real      The real part of the centre
+         * @param imaginary The imaginary part of the centre
+         * @param width     The width on the x axis
+         * @param seed      The Julia seed, or null
+         */
+        public Keyframe(BigDecimal real, BigDecimal imaginary, BigDecimal width, ComplexNumber seed)
+        {
+            this.real      = real;
+            this.imaginary = imaginary;
+            this.width     = width;
+            this.seed      = seed;
+        }
+        
+        /**
+         * getSeed
+         * 
+         * Every keyframe of an animation has a seed, or
+         * none does, as load() checks
+         * 
+         * @return The Julia seed, or null if it is the
+         *         Mandelbrot set or Burning Ship
+         */
+        public ComplexNumber getSeed()
+        {
+            return seed;
+        }
+        
+        /**
+         * sameSeed
+         * 
+         * @param other The next keyframe
+         * @return true if they have the same seed, or
+         *         neither has one
+         */
+        public boolean sameSeed(Keyframe other)
+        {
+            if (seed == null || other.seed == null)
+            {
+                return seed == other.seed;
+            }
+            
+            return seed.getReal() == other.seed.getReal()
+                && seed.getImaginary() == other.seed.getImaginary();
+        }
+        
+        /**
+         * fixedPoint
+         * 
+         * Works out the point that stays still as this
+         * keyframe is scaled into other. It is far away
+         * if they are almost the same width, as it's
+         * almost a pan, so null is returned instead.
+         * 
+         * @param other The next keyframe
+         * @return {real, imaginary}, or null
+         */
+        public BigDecimal[] fixedPoint(Keyframe other)
+        {
+            double ratio = other.width.doubleValue() / width.doubleValue();
+            
+            if (Math.abs(1 - ratio) < MIN_ZOOM)
+            {
+                return null;
+            }
+            
+            //other's centre, plus the move times w1 / (w0 - w1).
+            //The error in that is about a double's worth of
+            //other's width, so deep zooms stay accurate.
+            BigDecimal factor = new BigDecimal(ratio / (1 - ratio));
+            
+            return new BigDecimal[]
+            {
+                other.real.add(other.real.subtract(real).multiply(factor)),
+                other.imaginary.add(other.imaginary.subtract(imaginary).multiply(factor))
+            };
+        }
+        
+        /**
+         * widthAt
+         * 
+         * @param other The next keyframe
+         * @param t     How far to other, from 0 to 1
+         * @return The width, changing exponentially
+         */
+        public BigDecimal widthAt(Keyframe other, double t)
+        {
+            double ratio = other.width.doubleValue() / width.doubleValue();
+            
+            return width.multiply(new BigDecimal(Math.pow(ratio, t)));
+        }
+        
+        /**
+         * centreAt
+         * 
+         * Scales about the fixed point when zooming,
+         * otherwise moves in a straight line
+         * 
+         * @param other The next keyframe
+         * @param t     How far to other, from 0 to 1
+         * @return {real, imaginary}
+         */
+        public BigDecimal[] centreAt(Keyframe other, double t)
+        {
+            BigDecimal[] fixed = fixedPoint(other);
+            
+            if (fixed == null)
+            {
+                BigDecimal along = new BigDecimal(t);
+                
+                return new BigDecimal[]
+                {
+                    real.add(other.real.subtract(real).multiply(along)),
+                    imaginary.add(other.imaginary.subtract(imaginary).multiply(along))
+                };
+            }
+            
+            double     ratio = other.width.doubleValue() / width.doubleValue();
+            BigDecimal scale = new BigDecimal(Math.pow(ratio, t));
+            
+            return new BigDecimal[]
+            {
+                fixed[0].add(real.subtract(fixed[0]).multiply(scale)),
+                fixed[1].add(imaginary.subtract(fixed[1]).multiply(scale))
+            };
+        }
+    }
+}
+
+
+/**
+ * AbstractUI
+ * 
+ * Mandelbrot and Julia UI Frames should extend this
+ * 
+ * Sets up common methods, like painting the
+ * BufferedImage to the UIPane, and recalculating
+ * the fractal on resize
+ * 
+ * @author Emily Shepherd
+ *
+ */
+abstract class AbstractUI extends JFrame implements ComponentListener, AlgorithmFinishedListener, AlgorithmProgressListener
+{
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The JPanel the fractal will be drawn to
+     */
+    protected JPanel UIPane = new JPanel();
+    
+    /**
+     * This object will do our drawing
+     */
+    protected AlgorithmChecker ac;
+    
+    /**
+     * The point the user clicked on
+     */
+    protected ComplexNumber userSelectedPoint;
+    
+    /**
+     * This is the image given to the Frame by the
+     * AlgorithmChecker when it has finished drawing
+     * the fractal
+     */
+    protected BufferedImage image;
+    
+    /**
+     * AbstractUI
+     * 
+     * Sets up the Frame
+     * 
+     * @param title The JFrame title
+     */
+    public AbstractUI(String title)
+    {
+        super(title);
+        
+        //For resizing listening
+        this.addComponentListener(this);
+        
+        UIPane = new JPanel()
+        {
+            /**
+             * 
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * paintComponent
+             * 
+             * If a fractal image is available, this one
+             * draw it. Otherwise, it will ask ac to calculate
+             * one (safe to call from this thread as ac.start()
+             * only sets the job up, at most copying the last
+             * image's pixels. Everything that iterates, even
+             * a deep zoom's reference orbit, is left to its
+             * child threads)
+             */
+            public void paintComponent(Graphics painter)
+            {
+                //Java sometimes randomly called paint() before the
+                //ac was ready. If we get here and we don't have an
+                //image, its acceptable to ask the AlgorithmChecker
+                //to build us one, as obviously someone want GUI
+                if (image != null)
+                {
+                    painter.drawImage(image, 0, 0, UIPane.getWidth(), UIPane.getHeight(), null);
+                }
+                else
+                {
+                    //Safe to call from the EDT, as this method does
+                    //no iterating, it just sets off the child
+                    //threads
+                    ac.start();
+                }
+            }
+        };
+    }
+    
+    /**
+     * finishedImage
+     * 
+     * Callback for AlgorithmChecker when the fractal
+     * has been calculated. This method will repaint
+     * the frame immediately.
+     * 
+     * @see AlgorithmFinishedListener.finishedImage
+     */
+    public void finishedImage(BufferedImage image)
+    {
+        this.image = image;
+        repaint();
+    }
+    
+    /**
+     * progressImage
+     * 
+     * Callback for AlgorithmChecker when a rough
+     * version of the fractal is ready. This is drawn
+     * straight away, so the user isn't left looking at
+     * the last image during long calculations.
+     * 
+     * @see AlgorithmProgressListener.progressImage
+     */
+    public void progressImage(BufferedImage image, int step)
+    {
+        finishedImage(image);
+    }
+    
+    /**
+     * componentResized
+     * 
+     * Recalculates the fractal
+     */
+    public void componentResized(ComponentEvent e)
+    {
+        ac.resize(UIPane.getWidth(), UIPane.getHeight());
+        ac.start();
+    }
+
+    /**
+     * Unused
+     */
+    public void componentHidden(ComponentEvent e){}
+    public void componentMoved(ComponentEvent e){}
+    public void componentShown(ComponentEvent e){}
+}
+
+/**
+ * AlgorthimFinishedListener
+ * 
+ * Classes that implement this interface can handle
+ * AlgorithmChecker's finishedImage event
+ * 
+ * @author Emily Shepherd
+ *
+ */
+interface AlgorithmFinishedListener
+{
+    /**
+     * finishedDrawing
+     * 
+     * Called when the AlgorithmChecker has finished
+     * calculating the fractal
+     * 
+     * @param image The fractal
+     */
+    public void finishedImage(BufferedImage image);
+}
+
+/**
+ * AlgorithmProgressListener
+ * 
+ * Classes that implement this interface are shown
+ * the rough versions of the fractal that a
+ * progressive AlgorithmChecker draws on its way to
+ * the finished image
+ * 
+ * @author Emily Shepherd
+ *
+ */
+interface AlgorithmProgressListener
+{
+    /**
+     * progressImage
+     * 
+     * Called each time the AlgorithmChecker has
+     * finished a pass of a progressive render. The
+     * image is the one still being drawn, so it will
+     * carry on getting sharper.
+     * 
+     * @param image The fractal so far
+     * @param step  The gap in pixels between the points
+     *              calculated so far
+     */
+    public void progressImage(BufferedImage image, int step);
+}
+
+/**
+ * AlgorithmChecker
+ * 
+ * This class controls the threads that calculate
+ * our fractals.
+ * 
+ * RenderJob is a nested class within this, one is
+ * made for each image and it does the work.
+ * 
+ * All checkers share a pool with a thread per
+ * processor on the machine, in the hope that the
+ * OS will run them simultaneously. The image is cut
+ * up into square tiles of TILE_SIZE pixels, and each
+ * thread keeps taking the next undrawn tile until
+ * there are none left. Some tiles (the ones covering the middle of
+ * the set) take far longer than others, so handing
+ * them out one at a time stops one thread being left
+ * with all the hard work while the others sit idle.
+ * 
+ * EG: For a quad-core processor, the image might be
+ * drawn by 4 threads like so:
+ *   -------------------------
+ *   |  0  |  1  |  2  |  3  |
+ *   -------------------------
+ *   |  1  |  0  |  3  |  2  |
+ *   -------------------------
+ *   |  2  |  0  |  0  |  1  |
+ *   -------------------------
+ * 
+ * In progressive mode the tiles are drawn in
+ * several passes. The first only calculates every
+ * 8th pixel in each direction, and fills in the
+ * square around it with the same colour. Each pass
+ * after that halves the gap, only calculating the
+ * points the earlier passes missed, until every
+ * pixel has been done. The progress listeners are
+ * shown the image after each pass.
+ * 
+ * @author Emily Shepherd
+ *
+ */
+abstract class AlgorithmChecker
+{
+    /**
+     * The width and height of the tiles the image is
+     * split into
+     */
+    private static final int TILE_SIZE = 64;
+    
+    /**
+     * The smallest rectangle subdivideTile() will fill
+     * without calculating. Smaller ones are where the
+     * filaments that slip between edge pixels were found.
+     */
+    private static final int MIN_FILL = 16;
+    
+    /**
+     * The gaps between calculated pixels for each pass
+     * of a progressive render. Each must be half the
+     * one before, and TILE_SIZE must divide by them.
+     */
+    private static final int[] PROGRESSIVE_STEPS = {8, 4, 2, 1};
+    private static final int[] SINGLE_STEP       = {1};
+    
+    /**
+     * The number of threads in the pool, and so the
+     * number of workers each RenderJob is split into.
+     * One per processor, unless the fractal.threads
+     * system property says otherwise.
+     * 
+     * @see benchmarks.ScalingBenchmark
+     */
+    private static final int PROCESSORS = Integer.getInteger
+    (
+        "fractal.threads", Runtime.getRuntime().availableProcessors()
+    );
+    
+    /**
+     * The pool every checker's RenderJobs run on.
+     * Its threads block while there is nothing to do,
+     * and are daemons so they never keep the program
+     * open by themselves.
+     */
+    private static final ExecutorService POOL = Executors.newFixedThreadPool
+    (
+        PROCESSORS,
+        new ThreadFactory()
+        {
+            public Thread newThread(Runnable r)
+            {
+                Thread t = new Thread(r, "AlgorithmChecker");
+                t.setDaemon(true);
+                
+                return t;
+            }
+        }
+    );
+    
+    /**
+     * Tiles drawn by every checker, so they can be
+     * used again. 64MB holds about eight 1920x1080
+     * images.
+     * 
+     * @see getTileCache
+     */
+    private static final TileCache CACHE = new TileCache(64L << 20);
+    
+    /**
+     * Tiles kept on disk from earlier runs, which are
+     * looked in when the TileCache doesn't have one,
+     * or null if there isn't one
+     * 
+     * @see setTileStore
+     */
+    private static volatile TileStore store;
+    
+    /**
+     * Number of iterations we should perform
+     */
+    protected int iterations = 100;
+    
+    /**
+     * Every call to start() gets a new generation
+     * number. Any RenderJob with an older number is
+     * stale, and its threads give up on it at the
+     * next row they draw.
+     */
+    private volatile int generation = 0;
+    
+    /**
+     * The most recently started RenderJob, which is
+     * the only one allowed to reach the listeners
+     */
+    private volatile RenderJob job;
+    
+    /**
+     * The last RenderJob to be drawn completely. The
+     * next one can copy pixels from it, even if the
+     * jobs started in between were thrown away.
+     * 
+     * @see RenderJob.offsetFrom
+     */
+    private RenderJob finished;
+    
+    /**
+     * These will have their finishedImage() method
+     * called when the image has been calculated
+     * 
+     * @see AlgorithmFinishedListener.finishedImage
+     */
+    private ArrayList<AlgorithmFinishedListener> listeners =
+        new ArrayList<AlgorithmFinishedListener>();
+    
+    /**
+     * These will have their progressImage() method
+     * called after each pass of a progressive render
+     * 
+     * @see AlgorithmProgressListener.progressImage
+     */
+    private ArrayList<AlgorithmProgressListener> progressListeners =
+        new ArrayList<AlgorithmProgressListener>();
+    
+    /**
+     * If true, images are drawn coarse to fine over
+     * several passes
+     * 
+     * @see PROGRESSIVE_STEPS
+     */
+    private boolean progressive = false;
+    
+    /**
+     * If true, and the fractal allows it, the final
+     * pass uses the Mariani-Silver algorithm
+     * 
+     * @see subdivisionSafe
+     */
+    private boolean subdivision = false;
+    
+    /**
+     * If true, and the Vector API is available, rows
+     * are calculated several pixels at a time
+     * 
+     * @see VECTOR_ENGINE
+     */
+    private boolean vectorised = false;
+    
+    /**
+     * If true, the Engines also work out smooth
+     * iteration counts, so the colours blend instead
+     * of forming bands
+     * 
+     * @see View.smooth
+     */
+    private boolean smooth = false;
+    
+    /**
+     * If true, the z each pixel stopped at is kept, so
+     * raising the iterations only does the extra ones
+     * 
+     * @see ResumeEngine
+     */
+    private boolean resumable = false;
+    
+    /**
+     * If true, finished tiles go in the TileCache, and
+     * tiles that are already there aren't calculated
+     * 
+     * @see setCached
+     */
+    private boolean cached = true;
+    
+    /**
+     * The least precise number type that may be used.
+     * Anything below DOUBLE can change the odd pixel,
+     * so it has to be asked for.
+     * 
+     * @see choosePrecision
+     */
+    private Precision lowestPrecision = Precision.DOUBLE;
+    
+    /**
+     * If not null, every image is drawn with this
+     * Precision, whatever the view
+     * 
+     * @see setPrecision
+     */
+    private Precision precision = null;
+    
+    /**
+     * The constructors of VectorEngine and
+     * FloatVectorEngine, or null if they or the
+     * jdk.incubator.vector module they need are
+     * missing
+     */
+    private static final Constructor<?> VECTOR_ENGINE       = findVectorEngine("VectorEngine");
+    private static final Constructor<?> FLOAT_VECTOR_ENGINE = findVectorEngine("FloatVectorEngine");
+    
+    /**
+     * Turns iteration counts into colours. Changing it
+     * recolours the last image without recalculating it.
+     * 
+     * @see setPalette
+     */
+    private volatile Palette palette = new ShadePalette();
+    
+    /**
+     * The required width and height of the final image
+     */
+    private int width;
+    private int height;
+    
+    /**
+     * The rows that are actually drawn: all of them,
+     * unless setBand() has been called since resize()
+     */
+    private int bandTop;
+    private int bandRows;
+    
+    /**
+     * The number of tiles across and down the image
+     */
+    private int tilesX;
+    private int tilesY;
+    
+    /**
+     * These are the maximum and minimum axis values
+     * Eg -2, 2 and -1.6, 1.6
+     * 
+     * They are kept exactly, so that zooming in
+     * further than a double can resolve still knows
+     * where it is
+     */
+    private BigDecimal axisYMin;
+    private BigDecimal axisYMax;
+    private BigDecimal axisXMin;
+    private BigDecimal axisXMax;
+    
+    /**
+     * These donate how the value changes on each
+     * axis as you advance by one pixel
+     */
+    private double axisYStep;
+    private double axisXStep;
+    
+    /**
+     * If true, the image is ok to be drawn. If
+     * false, the AlgorithmChecker has had its
+     * values changed via public setters and so
+     * will call update() before attempting to
+     * draw the image, so that all required values
+     * are correctly set before setting off the
+     * child threads
+     * 
+     * @see update()
+     */
+    private boolean ready = false;
+    
+    /**
+     * Should this be a Julia set or not?
+     */
+    protected boolean julia = false;
+    
+    /**
+     * The ComplexNumber seed (c) if this is running
+     * as a Julia set
+     */
+    protected ComplexNumber userSelectedPoint;
+    
+    /**
+     * AlgoirthmChecker
+     * 
+     * @param julia Should this be a julia set?
+     */
+    public AlgorithmChecker(boolean julia)
+    {
+        this.julia = julia;
+    }
+    
+    /**
+     * finishedDrawing
+     * 
+     * Called by the last worker of a RenderJob to
+     * finish.
+     * 
+     * Completes the job's future and notifies the
+     * listeners. Stale jobs are ignored, so their half
+     * drawn images never reach the listeners.
+     * 
+     * @param job The RenderJob that finished
+     */
+    private synchronized void finishedDrawing(RenderJob job)
+    {
+        //Every pixel is done, so the last job's z isn't needed
+        if (job.resume != null)
+        {
+            job.resume.forgetPrevious();
+        }
+        
+        if (job.isStale()) return;
+        
+        finished = job;
+        
+        //The palette was changed while it was being drawn
+        if (job.palette != palette)
+        {
+            job.recolour(palette, job.future);
+            return;
+        }
+        
+        job.future.complete(job.image);
+        
+        for (AlgorithmFinishedListener afl : listeners)
+        {
+            afl.finishedImage(job.image);
+        }
+    }
+    
+    /**
+     * finishedPass
+     * 
+     * Called by the last worker of a RenderJob to
+     * finish a pass that isn't the final one.
+     * 
+     * Shows the progress listeners the image so far
+     * and starts the next pass. Stale jobs are
+     * ignored.
+     * 
+     * @param job The RenderJob that finished a pass
+     */
+    private synchronized void finishedPass(RenderJob job)
+    {
+        if (job.isStale()) return;
+        
+        for (AlgorithmProgressListener apl : progressListeners)
+        {
+            apl.progressImage(job.image, job.steps[job.pass]);
+        }
+        
+        job.nextPass();
+        
+        for (int i = 0; i < PROCESSORS; i++)
+        {
+            POOL.execute(job);
+        }
+    }
+    
+    /**
+     * finishedRecolour
+     * 
+     * Called by the last worker of a recolouring
+     * pass to finish.
+     * 
+     * If the palette has changed again since the pass
+     * began, the job is recoloured once more. Otherwise
+     * the new image becomes the job's, the future is
+     * completed with it, and the listeners are shown
+     * the new colours.
+     * 
+     * @param job    The RenderJob that was recoloured
+     * @param image  The image in the new colours
+     * @param pixels Its backing array
+     * @param future The future to complete
+     */
+    private synchronized void finishedRecolour(RenderJob job, BufferedImage image, int[] pixels, CompletableFuture<BufferedImage> future)
+    {
+        if (job.isStale())
+        {
+            future.cancel(false);
+            return;
+        }
+        
+        if (job.palette != palette)
+        {
+            job.recolour(palette, future);
+            return;
+        }
+        
+        job.image      = image;
+        job.pixels     = pixels;
+        job.recoloured = null;
+        future.complete(job.image);
+        
+        for (AlgorithmFinishedListener afl : listeners)
+        {
+            afl.finishedImage(job.image);
+        }
+    }
+    
+    /**
+     * addFinishedListener
+     * 
+     * Adds a listener to be called when the fractal
+     * image has been calculated
+     * 
+     * @param afl The listener
+     */
+    public void addFinishedListener(AlgorithmFinishedListener afl)
+    {
+        listeners.add(afl);
+    }
+    
+    /**
+     * addProgressListener
+     * 
+     * Adds a listener to be called after each pass
+     * of a progressive render
+     * 
+     * @param apl The listener
+     */
+    public void addProgressListener(AlgorithmProgressListener apl)
+    {
+        progressListeners.add(apl);
+    }
+    
+    /**
+     * setProgressive
+     * 
+     * Turns progressive (coarse to fine) rendering on
+     * or off. Takes effect from the next start()
+     * 
+     * @param progressive true to draw in several passes
+     */
+    public synchronized void setProgressive(boolean progressive)
+    {
+        this.progressive = progressive;
+    }
+    
+    /**
+     * setSubdivision
+     * 
+     * Turns Mariani-Silver rectangle subdivision on
+     * or off. Ignored for fractals where it isn't
+     * safe. Takes effect from the next start()
+     * 
+     * Only rectangles of 16 pixels or more inside the
+     * set are filled, so it saves the most on views
+     * with a lot of the set in them, and little on
+     * the rest. A filament thinner than a pixel could
+     * still slip into one, but none have been found.
+     * 
+     * @param subdivision true to skip uniform rectangles
+     * @see   subdivisionSafe
+     */
+    public synchronized void setSubdivision(boolean subdivision)
+    {
+        this.subdivision = subdivision;
+    }
+    
+    /**
+     * setVectorised
+     * 
+     * Turns the Vector API engine on or off. If it
+     * isn't available, the scalar one is used anyway.
+     * Takes effect from the next start()
+     * 
+     * @param vectorised true to use VectorEngine
+     * @see   vectorAvailable
+     */
+    public synchronized void setVectorised(boolean vectorised)
+    {
+        this.vectorised = vectorised;
+    }
+    
+    /**
+     * setSmooth
+     * 
+     * Turns smooth colouring on or off. It costs a
+     * little extra for each pixel that escapes, and
+     * rules out subdivision, as the smooth counts are
+     * never the same along an edge. Takes effect from
+     * the next start()
+     * 
+     * @param smooth true for continuous colours
+     */
+    public synchronized void setSmooth(boolean smooth)
+    {
+        this.smooth = smooth;
+    }
+    
+    /**
+     * setResumable
+     * 
+     * Turns resuming on or off. When it is on, images
+     * drawn with doubles use ResumeEngine, so if the
+     * next image only has more iterations, it carries
+     * on from this one rather than starting again. It
+     * is one pixel at a time, so the first image is
+     * slower than with VectorEngine, and z takes 16
+     * bytes a pixel. Takes effect from the next start()
+     * 
+     * Only fractals with Engines other than
+     * ScalarEngine can use it, as it has to know their
+     * formula.
+     * 
+     * @param resumable true to keep where each pixel got to
+     * @see   ResumeEngine
+     */
+    public synchronized void setResumable(boolean resumable)
+    {
+        this.resumable = resumable;
+    }
+    
+    /**
+     * setCached
+     * 
+     * Turns the TileCache on or off for this checker.
+     * Images that are only shown for a moment, like
+     * the real time Julia preview, are better off
+     * without it, so they don't push out tiles that
+     * will be wanted again. Takes effect from the next
+     * start()
+     * 
+     * @param cached true to use the TileCache
+     * @see   getTileCache
+     */
+    public synchronized void setCached(boolean cached)
+    {
+        this.cached = cached;
+    }
+    
+    /**
+     * getTileCache
+     * 
+     * Returns the TileCache every checker shares, so
+     * its budget can be changed and its hits and
+     * misses looked at
+     * 
+     * @return The TileCache
+     */
+    public static TileCache getTileCache()
+    {
+        return CACHE;
+    }
+    
+    /**
+     * setTileStore
+     * 
+     * Sets the TileStore every checker looks in for
+     * tiles the TileCache doesn't have, and writes
+     * finished tiles back to. Checkers with the cache
+     * turned off leave it alone too.
+     * 
+     * @param tileStore The TileStore, or null for none
+     * @see   setCached
+     */
+    public static void setTileStore(TileStore tileStore)
+    {
+        store = tileStore;
+    }
+    
+    /**
+     * getTileStore
+     * 
+     * @return The TileStore every checker shares, or null
+     *         if there isn't one
+     * @see   setTileStore
+     */
+    public static TileStore getTileStore()
+    {
+        return store;
+    }
+    
+    /**
+     * getThreads
+     * 
+     * @return The number of threads images are drawn
+     *         with, which is one per processor
+     */
+    public static int getThreads()
+    {
+        return PROCESSORS;
+    }
+    
+    /**
+     * getTileSize
+     * 
+     * @return The width and height of the tiles
+     *         images are drawn in
+     */
+    public static int getTileSize()
+    {
+        return TILE_SIZE;
+    }
+    
+    /**
+     * setLowestPrecision
+     * 
+     * Sets the least precise number type that
+     * choosePrecision() may pick. FLOAT is only worth
+     * it for small, quick images like thumbnails.
+     * Takes effect from the next start()
+     * 
+     * @param lowestPrecision The least precise Precision allowed
+     */
+    public synchronized void setLowestPrecision(Precision lowestPrecision)
+    {
+        this.lowestPrecision = lowestPrecision;
+    }
+    
+    /**
+     * setPrecision
+     * 
+     * Makes every image be drawn with the given
+     * Precision, if this fractal supports it, even
+     * if it can't tell the pixels apart. Used for
+     * previews that need to be quick more than
+     * right. Takes effect from the next start()
+     * 
+     * @param precision The Precision, or null to choose automatically
+     */
+    public synchronized void setPrecision(Precision precision)
+    {
+        this.precision = precision;
+    }
+    
+    /**
+     * getPrecision
+     * 
+     * Returns the Precision the image will be drawn
+     * with, for the current axis values and size
+     * 
+     * @return The Precision, or null if there isn't
+     *         enough information to draw yet
+     */
+    public synchronized Precision getPrecision()
+    {
+        if (!ready && !update())
+        {
+            return null;
+        }
+        
+        return choosePrecision(createView());
+    }
+    
+    /**
+     * vectorAvailable
+     * 
+     * Returns true if VectorEngine can be used. It
+     * needs to be compiled and run with
+     * --add-modules jdk.incubator.vector
+     * 
+     * @return true if setVectorised(true) will take effect
+     */
+    public static boolean vectorAvailable()
+    {
+        return VECTOR_ENGINE != null;
+    }
+    
+    /**
+     * findVectorEngine
+     * 
+     * Looks up a Vector API Engine by name, so that
+     * this file still compiles and runs without the
+     * incubator module
+     * 
+     * @param name The name of the class
+     * @return The constructor, or null if it can't be used
+     */
+    private static Constructor<?> findVectorEngine(String name)
+    {
+        try
+        {
+            return Class.forName(name).getConstructor(AlgorithmChecker.class, View.class);
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+        //Thrown if the class is there but the module isn't
+        catch (LinkageError e)
+        {
+            return null;
+        }
+    }
+    
+    /**
+     * choosePrecision
+     * 
+     * Picks the cheapest Precision that can still
+     * tell the pixels of the view apart, out of the
+     * ones this fractal supports, starting from the
+     * lowest allowed. If none of them can, it picks
+     * the most precise supported one.
+     * 
+     * Double-doubles come before perturbation, so
+     * they are used as far as they go, as they
+     * can't glitch.
+     * 
+     * If setPrecision() was used, that wins.
+     * 
+     * @param view What is being drawn
+     * @return The Precision to draw it with
+     * @see   setLowestPrecision
+     */
+    protected Precision choosePrecision(View view)
+    {
+        if (precision != null && supports(precision))
+        {
+            return precision;
+        }
+        
+        Precision chosen = Precision.DOUBLE;
+        
+        for (Precision precision : Precision.values())
+        {
+            if (precision.compareTo(lowestPrecision) < 0 || !supports(precision))
+            {
+                continue;
+            }
+            
+            chosen = precision;
+            
+            if (!view.isDeeperThan(precision.getBits()))
+            {
+                break;
+            }
+        }
+        
+        return chosen;
+    }
+    
+    /**
+     * createEngine
+     * 
+     * Makes the Engine a RenderJob will use
+     * 
+     * @param view      What the job is drawing
+     * @param precision What to draw it with
+     * @return The Engine
+     * @see   choosePrecision
+     */
+    protected Engine createEngine(View view, Precision precision)
+    {
+        switch (precision)
+        {
+            case FLOAT:
+                if (vectorised && FLOAT_VECTOR_ENGINE != null)
+                {
+                    try
+                    {
+                        return (Engine)FLOAT_VECTOR_ENGINE.newInstance(this, view);
+                    }
+                    //Fall back to the scalar engine
+                    catch (Exception e) {}
+                }
+                
+                return new FloatEngine(this, view);
+                
+            case DOUBLE_DOUBLE:
+                return new DoubleDoubleEngine(this, view);
+                
+            case PERTURBATION:
+                return new PerturbationEngine(this, view);
+                
+            default:
+                break;
+        }
+        
+        if (vectorised && VECTOR_ENGINE != null)
+        {
+            try
+            {
+                return (Engine)VECTOR_ENGINE.newInstance(this, view);
+            }
+            //Fall back to the scalar engine
+            catch (Exception e) {}
+        }
+        
+        return new ScalarEngine(this, view);
+    }
+    
+    /**
+     * absoluteParts
+     * 
+     * Returns true if the real and imaginary parts of
+     * z are made positive before each squaring, as in
+     * the Burning Ship. Engines that don't go through
+     * calculate() use this to know which fractal to
+     * draw. Defaults to false.
+     * 
+     * @return true if z is folded into the positive quadrant
+     */
+    protected boolean absoluteParts()
+    {
+        return false;
+    }
+    
+    /**
+     * supports
+     * 
+     * Returns true if the Engine for the Precision
+     * knows this fractal's formula. Only DOUBLE,
+     * which uses calculate(), is supported by
+     * default, which means deep zooms go blocky.
+     * 
+     * @param precision The Precision
+     * @return true if it can be used
+     */
+    protected boolean supports(Precision precision)
+    {
+        return precision == Precision.DOUBLE;
+    }
+    
+    /**
+     * seriesApproximation
+     * 
+     * Returns true if PerturbationEngine should skip
+     * the first iterations of every pixel with a
+     * series approximation. Only valid for z*z + c,
+     * so defaults to false.
+     * 
+     * @return true to skip iterations
+     */
+    protected boolean seriesApproximation()
+    {
+        return false;
+    }
+    
+    /**
+     * shortcuts
+     * 
+     * Returns true if the Engines may skip points they
+     * can prove never escape, with the cardioid, bulb
+     * and cycle checks. They never change the result,
+     * so defaults to true.
+     * 
+     * @return false to always run the plain loop
+     */
+    protected boolean shortcuts()
+    {
+        return true;
+    }
+    
+    /**
+     * subdivisionSafe
+     * 
+     * Returns true if a rectangle whose edges are
+     * all inside the set is guaranteed to be inside it
+     * all the way through. This is only known to hold
+     * for fractals with no holes, like the Mandelbrot
+     * set. Defaults to false.
+     * 
+     * @return true if setSubdivision() can be used
+     */
+    protected boolean subdivisionSafe()
+    {
+        return false;
+    }
+    
+    /**
+     * start
+     * 
+     * Sets a new RenderJob running on the pool. If
+     * an older one is still being drawn, it is
+     * cancelled and the threads move straight on to
+     * this one.
+     * 
+     * @return A future that completes once with the
+     *         image, or is cancelled if the job goes
+     *         stale or there isn't enough information
+     *         to draw yet
+     */
+    public synchronized CompletableFuture<BufferedImage> start()
+    {
+        //If not ready, perform the update() method attempt to get
+        //ready
+        //If update returns false, we haven't got all the information
+        //we need. This will only happen at startup, so it's ok to quietly
+        //refuse to draw as it will be called again when the required
+        //information is provided
+        if (!ready && !update())
+        {
+            CompletableFuture<BufferedImage> nothing = new CompletableFuture<BufferedImage>();
+            nothing.cancel(false);
+            
+            return nothing;
+        }
+        
+        cancel();
+        job = new RenderJob(generation, finished);
+        
+        //A zoomed in job starts with the last image spread
+        //out over it, which is worth showing straight away
+        if (job.scale > 1)
+        {
+            for (AlgorithmProgressListener apl : progressListeners)
+            {
+                apl.progressImage(job.image, job.scale);
+            }
+        }
+        
+        job.begin();
+        
+        return job.future;
+    }
+    
+    /**
+     * running
+     * 
+     * Returns true if the image is being calculated.
+     * I don't think it's ever used.
+     * 
+     * @return true if the image is being calculated
+     */
+    public boolean running()
+    {
+        RenderJob current = job;
+        
+        return current != null && !current.future.isDone();
+    }
+    
+    /**
+     * cancel
+     * 
+     * Makes the current RenderJob stale, so that the
+     * threads stop working on it, and cancels its
+     * future. Called whenever a setter changes what the
+     * image should look like.
+     */
+    private synchronized void cancel()
+    {
+        generation++;
+        
+        if (job != null)
+        {
+            job.future.cancel(false);
+        }
+    }
+    
+    /**
+     * update
+     * 
+     * Calculates the required values for the child
+     * threads
+     * 
+     * @return true if it had the appropriate information
+     *         false if information was missing
+     */
+    private boolean update()
+    {
+        //resize hasn't been called / the JFrame is too small
+        if (width <= 0 || height <= 0)
+        {
+            return false;
+        }
+        
+        //A Julia set can't be drawn until it has a seed
+        if (julia && userSelectedPoint == null)
+        {
+            return false;
+        }
+        
+        //Subtracted exactly, then rounded once
+        axisXStep = axisXMax.subtract(axisXMin).abs().doubleValue() / (double)width;
+        axisYStep = axisYMax.subtract(axisYMin).abs().doubleValue() / (double)height;
+        
+        //Round up, so the right and bottom edges get
+        //(smaller) tiles of their own
+        tilesX = (width  + TILE_SIZE - 1) / TILE_SIZE;
+        tilesY = (bandRows + TILE_SIZE - 1) / TILE_SIZE;
+        
+        ready = true;
+        return true;
+    }
+    
+    /**
+     * createView
+     * 
+     * Takes a copy of the values an Engine needs.
+     * update() must have been called.
+     * 
+     * @return The View
+     */
+    private View createView()
+    {
+        return new View
+        (
+            axisXMin, axisYMax, axisXStep, axisYStep, width, bandRows, bandTop,
+            iterations, julia ? userSelectedPoint : null
+        );
+    }
+    
+    /**
+     * resize
+     * 
+     * Change the size of the desired image
+     * 
+     * @param width  The required width
+     * @param height The required height
+     */
+    public synchronized void resize(int width, int height)
+    {
+        cancel();
+        
+        //Changes made, update() will be called
+        //before drawing can begin
+        ready       = false;
+        
+        this.width  = width;
+        this.height = height;
+        
+        bandTop     = 0;
+        bandRows    = height;
+    }
+    
+    /**
+     * setBand
+     * 
+     * Only draw some of the rows of the image, so a
+     * huge image can be drawn a band at a time. The
+     * image start() gives is just the band, but its
+     * pixels are exactly the same as those rows of
+     * the whole image. resize() goes back to drawing
+     * all of it.
+     * 
+     * @param top  The first row to draw
+     * @param rows The number of rows to draw
+     * @throws IllegalArgumentException If the rows aren't in the image
+     */
+    public synchronized void setBand(int top, int rows)
+    {
+        if (top < 0 || rows <= 0 || top + rows > height)
+        {
+            throw new IllegalArgumentException("Rows " + top + " to " + (top + rows) + " aren't in the image");
+        }
+        
+        cancel();
+        
+        ready    = false;
+        
+        bandTop  = top;
+        bandRows = rows;
+    }
+    
+    /**
+     * changeAxis
+     * 
+     * Change the axis values to draw between
+     * 
+     * @param xMin The minimum x value
+     * @param xMax The maximum x value
+     * @param yMin The minimum y value
+     * @param yMax The maximum y value
+     */
+    public void changeAxis(double xMin, double xMax, double yMin, double yMax)
+    {
+        changeAxis
+        (
+            new BigDecimal(xMin), new BigDecimal(xMax),
+            new BigDecimal(yMin), new BigDecimal(yMax)
+        );
+    }
+    
+    /**
+     * changeAxis
+     * 
+     * Change the axis values to draw between, to any
+     * precision. Once a pixel is too small for a
+     * double, the fractals that support it are drawn
+     * with more precise Engines.
+     * 
+     * @param xMin The minimum x value
+     * @param xMax The maximum x value
+     * @param yMin The minimum y value
+     * @param yMax The maximum y value
+     * @see   choosePrecision
+     */
+    public synchronized void changeAxis(BigDecimal xMin, BigDecimal xMax, BigDecimal yMin, BigDecimal yMax)
+    {
+        cancel();
+        
+        //Changes made, update() will be called
+        //before drawing can begin
+        ready     = false;
+        
+        axisYMin  = yMin;
+        axisYMax  = yMax;
+        axisXMin  = xMin;
+        axisXMax  = xMax;
+    }
+    
+    /**
+     * setIterations
+     * 
+     * Set the maximum number of interations to do per pixel
+     * 
+     * @param iterations The number of iterations
+     */
+    public synchronized void setIterations(int iterations)
+    {
+        cancel();
+        
+        this.iterations = iterations;
+    }
+    
+    /**
+     * setC
+     * 
+     * Sets the seed ComplexNumber. Called c because
+     * that's the letter that was used in the
+     * specification's algorithm.
+     * 
+     * @param userSelectedPoint The ComplexNumber seed
+     */
+    public synchronized void setC(ComplexNumber userSelectedPoint)
+    {
+        //Setting the userSelectedPoint halfway through a
+        //calculation would cause striping, so that image
+        //is thrown away
+        cancel();
+        
+        this.userSelectedPoint = userSelectedPoint;
+    }
+    
+    /**
+     * setPalette
+     * 
+     * Changes the colours. Unlike the other setters,
+     * this doesn't throw the image away: the last one
+     * is recoloured from its iteration counts.
+     * 
+     * @param palette The Palette to colour with
+     * @see   recolour
+     */
+    public void setPalette(Palette palette)
+    {
+        this.palette = palette;
+        
+        recolour();
+    }
+    
+    /**
+     * recolour
+     * 
+     * Recolours the current image with the current
+     * Palette, using the iteration counts saved when it
+     * was drawn. Nothing is recalculated. The rows are
+     * shared between the pool's threads, and the
+     * listeners are shown the image when they are done.
+     * 
+     * An image that is still being drawn is recoloured
+     * when it finishes instead.
+     * 
+     * @return A future that completes with the image once
+     *         it is in the current colours, or is
+     *         cancelled if there is no image or it goes
+     *         stale
+     */
+    public synchronized CompletableFuture<BufferedImage> recolour()
+    {
+        RenderJob current = job;
+        
+        if (current == null || current.isStale())
+        {
+            CompletableFuture<BufferedImage> nothing = new CompletableFuture<BufferedImage>();
+            nothing.cancel(false);
+            
+            return nothing;
+        }
+        
+        //finishedDrawing() and finishedRecolour() both check
+        //the palette before they complete their futures
+        if (!current.future.isDone())
+        {
+            return current.future;
+        }
+        if (current.recoloured != null)
+        {
+            return current.recoloured;
+        }
+        
+        current.recoloured = new CompletableFuture<BufferedImage>();
+        current.recolour(palette, current.recoloured);
+        
+        return current.recoloured;
+    }
+    
+    /**
+     * calculate
+     * 
+     * Extending classes are responsible for calculating
+     * Z(). This is the per pixel kernel, so it works on
+     * primitive doubles and must not create any objects
+     * 
+     * @param zr The real part of the starting z
+     * @param zi The imaginary part of the starting z
+     * @param cr The real part of the seed c
+     * @param ci The imaginary part of the seed c
+     * @return The number of iterations required for divergence
+     */
+    abstract public int calculate(double zr, double zi, double cr, double ci);
+    
+    /**
+     * calculate
+     * 
+     * Runs calculate(double, double, double, double)
+     * with the parts of d and c
+     * 
+     * @param d ComplexNumber
+     * @param c ComplexNumber seed
+     * @return The number of iterations required for divergence
+     */
+    public int calculate(ComplexNumber d, ComplexNumber c)
+    {
+        return calculate(d.getReal(), d.getImaginary(), c.getReal(), c.getImaginary());
+    }
+    
+    /**
+     * calculate
+     * 
+     * Runs calculate(double, double, double, double)
+     * with d as both z and c
+     * 
+     * @param d ComplexNumber
+     * @return The number of iterations required for divergence
+     */
+    protected int calculate(ComplexNumber d)
+    {
+        return calculate(d.getReal(), d.getImaginary(), d.getReal(), d.getImaginary());
+    }
+    
+    /**
+     * RenderJob
+     * 
+     * One request to draw the fractal. It takes a copy
+     * of everything the threads need when it is made,
+     * so the setters can change the checker while an
+     * older job is still winding down.
+     * 
+     * It is submitted to the pool once per processor,
+     * and each run() takes tiles until there are none
+     * left.
+     * 
+     * @author Emily Shepherd
+     */
+    private class RenderJob implements Runnable
+    {
+        /**
+         * The generation this job was started as
+         */
+        private final int generation;
+        
+        /**
+         * The image being drawn, and its backing array.
+         * Recolouring swaps in a new one, under the
+         * checker's lock, rather than change one that
+         * has already been handed out.
+         * 
+         * @see AlgorithmChecker.finishedRecolour
+         */
+        private BufferedImage image;
+        private int[]         pixels;
+        
+        /**
+         * The number of iterations each pixel took, in
+         * the same layout as pixels. Kept so the image
+         * can be recoloured without recalculating it.
+         * 
+         * @see AlgorithmChecker.recolour
+         */
+        private final int[] counts;
+        
+        /**
+         * The smooth iteration count of each pixel, or
+         * null if it isn't being coloured smoothly
+         * 
+         * @see AlgorithmChecker.setSmooth
+         */
+        private final float[] smooth;
+        
+        /**
+         * The Palette the pixels are coloured with, and
+         * its colours for this job's iterations. Only
+         * changed by recolour(), once drawing is done.
+         */
+        private Palette     palette;
+        private ColourTable table;
+        
+        /**
+         * The future of the recolouring pass that is
+         * running, or null if there isn't one. Guarded by
+         * the checker's lock.
+         */
+        private CompletableFuture<BufferedImage> recoloured;
+        
+        /**
+         * Copies of the checker's values when this
+         * job was started
+         * 
+         * @see AlgorithmChecker.update()
+         */
+        private final int width;
+        private final int height;
+        private final int tilesX;
+        private final int tilesY;
+        
+        /**
+         * What is being drawn, and the Precision and
+         * Engine that calculate it
+         */
+        private final View      view;
+        private final Precision precision;
+        private final Engine    engine;
+        
+        /**
+         * The Engine again if it is a ResumeEngine, so
+         * the next job can carry on from it
+         * 
+         * @see AlgorithmChecker.setResumable
+         */
+        private ResumeEngine resume;
+        
+        /**
+         * The gap between pixels for each pass, and the
+         * pass currently being drawn
+         * 
+         * @see PROGRESSIVE_STEPS
+         */
+        private final int[] steps;
+        private volatile int pass = 0;
+        
+        /**
+         * Should the last pass use subdivideTile()?
+         */
+        private final boolean subdivide;
+        
+        /**
+         * Should tiles go in, and come from, the
+         * TileCache, and which ones came from it. Those
+         * are skipped by every pass.
+         * 
+         * @see AlgorithmChecker.setCached
+         */
+        private final boolean   useCache;
+        private final boolean[] fromCache;
+        
+        /**
+         * The pixels copied from the last image when the
+         * view was moved or zoomed, which don't need
+         * drawing: those inside the known rectangle where
+         * x + offsetX and y + offsetY are multiples of
+         * scale. Right and bottom are exclusive, so it is
+         * empty unless the job was shifted.
+         * 
+         * @see shift
+         */
+        private int offsetX;
+        private int offsetY;
+        private int scale = 1;
+        private int knownLeft;
+        private int knownTop;
+        private int knownRight;
+        private int knownBottom;
+        
+        /**
+         * The next tile that needs drawing this pass.
+         * Threads take tiles by incrementing this, so no
+         * tile is ever drawn twice in a pass.
+         */
+        private final AtomicInteger nextTile = new AtomicInteger();
+        
+        /**
+         * The number of workers that haven't finished
+         * this pass yet
+         */
+        private final AtomicInteger running = new AtomicInteger(PROCESSORS);
+        
+        /**
+         * Completed with the image when the job is done
+         */
+        private final CompletableFuture<BufferedImage> future =
+            new CompletableFuture<BufferedImage>();
+        
+        /**
+         * RenderJob
+         * 
+         * @param generation The generation number
+         * @param previous   The last job drawn completely, or null
+         */
+        public RenderJob(int generation, RenderJob previous)
+        {
+            this.generation = generation;
+            
+            width  = AlgorithmChecker.this.width;
+            height = bandRows;
+            tilesX = AlgorithmChecker.this.tilesX;
+            tilesY = AlgorithmChecker.this.tilesY;
+            
+            view      = createView();
+            precision = choosePrecision(view);
+            
+            //ResumeEngine does its own sums, like the Engines other
+            //than ScalarEngine, so needs a fractal they support
+            if (resumable && precision == Precision.DOUBLE && supports(Precision.FLOAT))
+            {
+                resume = new ResumeEngine(AlgorithmChecker.this, view);
+                engine = resume;
+            }
+            else
+            {
+                engine = createEngine(view, precision);
+            }
+            
+            //A moved view only needs the strips that came into
+            //sight, which are too thin to be worth doing coarsely.
+            //A zoomed one already has a coarse pass, as the last
+            //image's pixels are spread out to cover it.
+            int[] offset = offsetFrom(previous);
+            
+            steps     = progressive && offset == null ? PROGRESSIVE_STEPS : SINGLE_STEP;
+            subdivide = subdivision && subdivisionSafe() && !AlgorithmChecker.this.smooth;
+            //A validation run with the shortcuts off has to
+            //work every tile out, rather than be handed the
+            //ones an earlier render cached
+            useCache  = cached && shortcuts();
+            fromCache = new boolean[tilesX * tilesY];
+            palette   = AlgorithmChecker.this.palette;
+            table     = new ColourTable(palette, view.getIterations());
+            
+            //Write straight into the image's backing array, rather
+            //than going through a Graphics object for every pixel
+            image  = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+            counts = new int[width * height];
+            smooth = AlgorithmChecker.this.smooth ? new float[width * height] : null;
+            
+            if (resume != null && canResume(previous))
+            {
+                resume.resumeFrom(previous.resume, previous.counts, previous.smooth);
+            }
+            
+            if (offset != null)
+            {
+                shift(previous, offset[0], offset[1], offset[2]);
+            }
+        }
+        
+        /**
+         * offsetFrom
+         * 
+         * Works out whether this job's view is
+         * previous's moved, or zoomed in, by whole pixels,
+         * with the same iterations and kind of colouring,
+         * so the pixels they share can be copied across
+         * 
+         * @param previous The last job, or null
+         * @return {dx, dy, scale} as View.offsetFrom, or null
+         *         if nothing can be copied
+         * @see   View.offsetFrom
+         */
+        private int[] offsetFrom(RenderJob previous)
+        {
+            if (previous == null
+                || previous.precision != precision
+                || previous.view.getIterations() != view.getIterations()
+                || (previous.smooth == null) != !AlgorithmChecker.this.smooth)
+            {
+                return null;
+            }
+            
+            return view.offsetFrom(previous.view);
+        }
+        
+        /**
+         * shift
+         * 
+         * Copies the iteration counts previous has for
+         * the pixels both views share, and colours them.
+         * The pixels are coloured again rather than
+         * copied, as previous may have a different
+         * palette. Only the rest of the image is drawn.
+         * 
+         * When zoomed in, each copied pixel is also
+         * spread over the scale by scale square below and
+         * to the right of it, like a progressive pass, so
+         * there is something to show straight away.
+         * 
+         * @param previous The last job
+         * @param dx       How far right previous's pixels are
+         * @param dy       How far down previous's pixels are
+         * @param scale    How many times bigger previous's pixels are
+         * @see   View.offsetFrom
+         */
+        private void shift(RenderJob previous, int dx, int dy, int scale)
+        {
+            this.offsetX = dx;
+            this.offsetY = dy;
+            this.scale   = scale;
+            
+            //The first pixels that land on one of previous's
+            knownLeft   = Math.max(0, -dx);
+            knownTop    = Math.max(0, -dy);
+            knownLeft  += Math.floorMod(-(knownLeft + dx), scale);
+            knownTop   += Math.floorMod(-(knownTop  + dy), scale);
+            knownRight  = Math.min(width,  previous.width  * scale - dx);
+            knownBottom = Math.min(height, previous.height * scale - dy);
+            
+            if (scale > 1)
+            {
+                for (int y = knownTop; y < knownBottom; y += scale)
+                {
+                    int row = (y + dy) / scale * previous.width;
+                    
+                    for (int x = knownLeft; x < knownRight; x += scale)
+                    {
+                        int from = row + (x + dx) / scale;
+                        int test = previous.counts[from];
+                        
+                        fill(x, y, scale, test, smooth != null ? previous.smooth[from] : test);
+                    }
+                }
+                
+                return;
+            }
+            
+            int length = knownRight - knownLeft;
+            
+            for (int y = knownTop; y < knownBottom; y++)
+            {
+                int from = (y + dy) * width + knownLeft + dx;
+                int to   = y * width + knownLeft;
+                
+                System.arraycopy(previous.counts, from, counts, to, length);
+                
+                if (smooth != null)
+                {
+                    System.arraycopy(previous.smooth, from, smooth, to, length);
+                    
+                    for (int i = to; i < to + length; i++)
+                    {
+                        pixels[i] = table.getRGB(smooth[i]);
+                    }
+                }
+                else
+                {
+                    for (int i = to; i < to + length; i++)
+                    {
+                        pixels[i] = table.getRGB(counts[i]);
+                    }
+                }
+            }
+        }
+        
+        /**
+         * canResume
+         * 
+         * Returns true if this job can carry on from
+         * previous: it has to have finished, with the
+         * same pixels, no more iterations, and the same
+         * kind of colouring
+         * 
+         * @param previous The last job, or null
+         * @return true if resume can carry on from it
+         */
+        private boolean canResume(RenderJob previous)
+        {
+            return previous != null
+                && previous.resume != null
+                && previous.future.isDone()
+                && !previous.future.isCancelled()
+                && view.samePixels(previous.view)
+                && view.getIterations() >= previous.view.getIterations()
+                && (smooth == null) == (previous.smooth == null);
+        }
+        
+        /**
+         * begin
+         * 
+         * Sets the pool's workers drawing the first
+         * pass. A PerturbationEngine's reference orbit
+         * is worked out first, on the pool as well, as
+         * it can take seconds and the caller may be the
+         * event dispatch thread.
+         */
+        public void begin()
+        {
+            if (!(engine instanceof PerturbationEngine))
+            {
+                submit();
+                return;
+            }
+            
+            POOL.execute(new Runnable()
+            {
+                public void run()
+                {
+                    BooleanSupplier stale = new BooleanSupplier()
+                    {
+                        public boolean getAsBoolean()
+                        {
+                            return isStale();
+                        }
+                    };
+                    
+                    //A stale job's future was cancelled with it
+                    if (((PerturbationEngine)engine).prepare(stale))
+                    {
+                        submit();
+                    }
+                }
+            });
+        }
+        
+        /**
+         * submit
+         * 
+         * Gives the pool a worker for each processor
+         */
+        private void submit()
+        {
+            for (int i = 0; i < PROCESSORS; i++)
+            {
+                POOL.execute(this);
+            }
+        }
+        
+        /**
+         * run
+         * 
+         * Takes tiles until there are none left in
+         * this pass. The last worker to finish tells
+         * the checker.
+         */
+        public void run()
+        {
+            int step  = steps[pass];
+            int tile;
+            
+            while (!isStale() && (tile = nextTile.getAndIncrement()) < tilesX * tilesY)
+            {
+                if (pass == 0 && useCache)
+                {
+                    fromCache[tile] = readTile(tile);
+                }
+                if (fromCache[tile]) continue;
+                
+                //Earlier passes' pixels get worked out again when
+                //subdividing, but only the edges are calculated
+                if (subdivide && step == 1)
+                {
+                    subdivideTile(tile);
+                }
+                else
+                {
+                    drawTile(tile, step, pass == 0);
+                }
+                
+                //A half drawn tile gives up once the job is stale,
+                //so it mustn't go in the cache, and nor must one
+                //with pixels from the last image in it
+                if (useCache && pass == steps.length - 1 && !isStale() && !copied(tile))
+                {
+                    writeTile(tile);
+                }
+            }
+            
+            if (running.decrementAndGet() == 0)
+            {
+                if (pass == steps.length - 1)
+                {
+                    finishedDrawing(this);
+                }
+                else
+                {
+                    finishedPass(this);
+                }
+            }
+        }
+        
+        /**
+         * nextPass
+         * 
+         * Moves on to the next pass, ready for the
+         * workers to be submitted again
+         */
+        public void nextPass()
+        {
+            nextTile.set(0);
+            running.set(PROCESSORS);
+            pass++;
+        }
+        
+        /**
+         * recolour
+         * 
+         * Sets the pool's threads colouring a new image
+         * from counts, a band of TILE_SIZE rows at a
+         * time. The last one to finish tells the checker.
+         * 
+         * @param palette The Palette to colour with
+         * @param future  Completed when it is done
+         * @see   AlgorithmChecker.finishedRecolour
+         */
+        public void recolour(Palette palette, final CompletableFuture<BufferedImage> future)
+        {
+            final AtomicInteger nextBand = new AtomicInteger();
+            final AtomicInteger workers  = new AtomicInteger(PROCESSORS);
+            
+            this.palette = palette;
+            this.table   = new ColourTable(palette, view.getIterations());
+            
+            final BufferedImage recoloured = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            final int[]         into       = ((DataBufferInt)recoloured.getRaster().getDataBuffer()).getData();
+            
+            Runnable worker = new Runnable()
+            {
+                public void run()
+                {
+                    int band;
+                    
+                    while (!isStale() && (band = nextBand.getAndIncrement()) < tilesY)
+                    {
+                        int end = Math.min((band + 1) * TILE_SIZE, height) * width;
+                        
+                        if (smooth != null)
+                        {
+                            for (int i = band * TILE_SIZE * width; i < end; i++)
+                            {
+                                into[i] = table.getRGB(smooth[i]);
+                            }
+                        }
+                        else
+                        {
+                            for (int i = band * TILE_SIZE * width; i < end; i++)
+                            {
+                                into[i] = table.getRGB(counts[i]);
+                            }
+                        }
+                    }
+                    
+                    if (workers.decrementAndGet() == 0)
+                    {
+                        finishedRecolour(RenderJob.this, recoloured, into, future);
+                    }
+                }
+            };
+            
+            for (int i = 0; i < PROCESSORS; i++)
+            {
+                POOL.execute(worker);
+            }
+        }
+        
+        /**
+         * tileKey
+         * 
+         * @param tile The tile number
+         * @return The tile's key in the TileCache
+         */
+        private TileCache.Key tileKey(int tile)
+        {
+            int xMin = (tile % tilesX) * TILE_SIZE;
+            int yMin = (tile / tilesX) * TILE_SIZE;
+            
+            return new TileCache.Key
+            (
+                AlgorithmChecker.this.getClass(), view, xMin, yMin,
+                Math.min(TILE_SIZE, width - xMin), Math.min(TILE_SIZE, height - yMin),
+                precision, seriesApproximation(), subdivide, smooth != null
+            );
+        }
+        
+        /**
+         * readTile
+         * 
+         * Fills a tile in from the TileCache, if it's
+         * there, or else the TileStore
+         * 
+         * @param tile The tile number
+         * @return true if it was in either
+         */
+        private boolean readTile(int tile)
+        {
+            TileCache.Key  key    = tileKey(tile);
+            TileCache.Tile cached = CACHE.get(key);
+            TileStore      disk   = store;
+            
+            if (cached == null && disk != null)
+            {
+                cached = disk.get(key);
+                
+                if (cached != null)
+                {
+                    CACHE.put(key, cached);
+                }
+            }
+            
+            if (cached == null) return false;
+            
+            int xMin = (tile % tilesX) * TILE_SIZE;
+            int yMin = (tile / tilesX) * TILE_SIZE;
+            int xMax = Math.min(xMin + TILE_SIZE, width);
+            int yMax = Math.min(yMin + TILE_SIZE, height);
+            int size = xMax - xMin;
+            
+            for (int y = yMin; y < yMax; y++)
+            {
+                int from = (y - yMin) * size;
+                int to   = y * width + xMin;
+                
+                System.arraycopy(cached.getCounts(), from, counts, to, size);
+                
+                if (smooth != null)
+                {
+                    System.arraycopy(cached.getSmooth(), from, smooth, to, size);
+                    
+                    for (int i = to; i < to + size; i++)
+                    {
+                        pixels[i] = table.getRGB(smooth[i]);
+                    }
+                }
+                else
+                {
+                    for (int i = to; i < to + size; i++)
+                    {
+                        pixels[i] = table.getRGB(counts[i]);
+                    }
+                }
+            }
+            
+            return true;
+        }
+        
+        /**
+         * writeTile
+         * 
+         * Puts a copy of a finished tile in the
+         * TileCache, and queues it to be written to the
+         * TileStore
+         * 
+         * @param tile The tile number
+         */
+        private void writeTile(int tile)
+        {
+            int xMin = (tile % tilesX) * TILE_SIZE;
+            int yMin = (tile / tilesX) * TILE_SIZE;
+            int xMax = Math.min(xMin + TILE_SIZE, width);
+            int yMax = Math.min(yMin + TILE_SIZE, height);
+            int size = xMax - xMin;
+            
+            int[]   tileCounts = new int[size * (yMax - yMin)];
+            float[] tileSmooth = smooth != null ? new float[tileCounts.length] : null;
+            
+            for (int y = yMin; y < yMax; y++)
+            {
+                System.arraycopy(counts, y * width + xMin, tileCounts, (y - yMin) * size, size);
+                
+                if (smooth != null)
+                {
+                    System.arraycopy(smooth, y * width + xMin, tileSmooth, (y - yMin) * size, size);
+                }
+            }
+            
+            TileCache.Key  key    = tileKey(tile);
+            TileCache.Tile cached = new TileCache.Tile(tileCounts, tileSmooth);
+            TileStore      disk   = store;
+            
+            CACHE.put(key, cached);
+            
+            if (disk != null)
+            {
+                disk.put(key, cached);
+            }
+        }
+        
+        /**
+         * isStale
+         * 
+         * Returns true if a newer job has been started, or
+         * a setter has been called, since this one began
+         * 
+         * @return true if this job should be abandoned
+         */
+        public boolean isStale()
+        {
+            return generation != AlgorithmChecker.this.generation;
+        }
+        
+        /**
+         * drawTile
+         * 
+         * Calculates one tile of the image, at every
+         * step-th pixel. Each calculated pixel's colour
+         * is copied over the step by step square below
+         * and to the right of it, so the tile looks
+         * complete. Gives up part way through if the job
+         * goes stale.
+         * 
+         * Pixels that an earlier pass calculated (every
+         * second one, in both directions) are skipped,
+         * unless this is the first pass.
+         * 
+         * @param tile  The tile number, counting along each row of tiles
+         * @param step  The gap between calculated pixels
+         * @param first Is this the first pass?
+         */
+        public void drawTile(int tile, int step, boolean first)
+        {
+            int xMin = (tile % tilesX) * TILE_SIZE;
+            int yMin = (tile / tilesX) * TILE_SIZE;
+            int xMax = Math.min(xMin + TILE_SIZE, width);
+            int yMax = Math.min(yMin + TILE_SIZE, height);
+            
+            //Copied from the last image
+            if (scale == 1 && known(xMin, yMin) && known(xMax - 1, yMax - 1)) return;
+            
+            //The results for one row
+            int[]   tests     = new int[TILE_SIZE];
+            float[] smoothRow = smooth != null ? new float[TILE_SIZE] : null;
+            
+            for (int y = yMin; y < yMax; y += step)
+            {
+                //Checked once a row so a cancelled job is
+                //dropped within a few milliseconds
+                if (isStale()) return;
+                
+                //On rows an earlier pass has been along, it did
+                //every other pixel, so only the ones between are
+                //needed
+                boolean doneRow = !first && y % (2 * step) == 0;
+                int     start   = doneRow ? xMin + step : xMin;
+                int     gap     = doneRow ? 2 * step    : step;
+                
+                //Only shifted jobs have known pixels, and they are
+                //drawn in one pass, so the gap is 1 here. Rows with
+                //known pixels are done as scale lots of every
+                //scale-th pixel, leaving out the known ones.
+                if (y >= knownTop && y < knownBottom && (y + offsetY) % scale == 0)
+                {
+                    for (int x = start; x < start + scale; x++)
+                    {
+                        if (Math.floorMod(x + offsetX, scale) != 0)
+                        {
+                            drawRow(x, xMax, y, scale, step, tests, smoothRow);
+                            continue;
+                        }
+                        
+                        //The first of this lot after the known ones
+                        int after = Math.max(x, knownRight);
+                        after    += Math.floorMod(x - after, scale);
+                        
+                        drawRow(x, Math.min(xMax, knownLeft), y, scale, step, tests, smoothRow);
+                        drawRow(after, xMax, y, scale, step, tests, smoothRow);
+                    }
+                }
+                else
+                {
+                    drawRow(start, xMax, y, gap, step, tests, smoothRow);
+                }
+            }
+        }
+        
+        /**
+         * drawRow
+         * 
+         * Calculates every gap-th pixel of a row from
+         * start up to end, and fills in the step by step
+         * square of each
+         * 
+         * @param start     The x coordinate of the first pixel
+         * @param end       The x coordinate to stop before
+         * @param y         The y coordinate of the row
+         * @param gap       The gap between calculated pixels
+         * @param step      The size of the square each one fills
+         * @param tests     Room for the row's iterations
+         * @param smoothRow Room for the row's smooth iterations,
+         *                  or null
+         */
+        private void drawRow(int start, int end, int y, int gap, int step, int[] tests, float[] smoothRow)
+        {
+            int count = (end - start + gap - 1) / gap;
+            
+            if (count <= 0) return;
+            
+            engine.calculateRow(start, y, gap, count, tests, smoothRow, 0);
+            
+            for (int i = 0; i < count; i++)
+            {
+                //Engines leave smooth alone for points that
+                //never escape
+                float test = tests[i];
+                
+                if (smooth != null && tests[i] < view.getIterations())
+                {
+                    test = smoothRow[i];
+                }
+                
+                fill(start + i * gap, y, step, tests[i], test);
+            }
+        }
+        
+        /**
+         * known
+         * 
+         * @param x The x coordinate of a pixel
+         * @param y The y coordinate of a pixel
+         * @return true if it was copied from the last image
+         * @see   shift
+         */
+        private boolean known(int x, int y)
+        {
+            return x >= knownLeft && x < knownRight && y >= knownTop && y < knownBottom
+                && (x + offsetX) % scale == 0 && (y + offsetY) % scale == 0;
+        }
+        
+        /**
+         * copied
+         * 
+         * Returns true if a tile may have pixels copied
+         * from the last image. Those were worked out at
+         * the last image's points, which are only within
+         * SHIFT_TOLERANCE of this one's, so the tile
+         * mustn't be cached as this view's.
+         * 
+         * @param tile The tile number
+         * @return true if it overlaps the known rectangle
+         * @see   View.offsetFrom
+         */
+        private boolean copied(int tile)
+        {
+            int xMin = (tile % tilesX) * TILE_SIZE;
+            int yMin = (tile / tilesX) * TILE_SIZE;
+            
+            return xMin < knownRight && xMin + TILE_SIZE > knownLeft
+                && yMin < knownBottom && yMin + TILE_SIZE > knownTop;
+        }
+        
+        /**
+         * subdivideTile
+         * 
+         * Draws a whole tile with the Mariani-Silver
+         * algorithm. Only the edges of a rectangle are
+         * calculated. If every edge pixel is inside the
+         * set, and so is the ring of pixels just inside
+         * the edges, the rest is filled in without
+         * calculating. Otherwise it is cut into four and
+         * each quarter is tried the same way, until the
+         * pieces are too small to be worth it.
+         * 
+         * Gives up part way through if the job goes stale.
+         * 
+         * @param tile The tile number, counting along each row of tiles
+         * @see   AlgorithmChecker.subdivisionSafe
+         */
+        public void subdivideTile(int tile)
+        {
+            int xMin = (tile % tilesX) * TILE_SIZE;
+            int yMin = (tile / tilesX) * TILE_SIZE;
+            int xMax = Math.min(xMin + TILE_SIZE, width);
+            int yMax = Math.min(yMin + TILE_SIZE, height);
+            
+            //Copied from the last image
+            if (scale == 1 && known(xMin, yMin) && known(xMax - 1, yMax - 1)) return;
+            
+            //Iterations for each pixel in the tile, -1 if it
+            //hasn't been worked out yet. The rectangles share
+            //their edges, so this stops those being done twice
+            int[] tests = new int[TILE_SIZE * TILE_SIZE];
+            Arrays.fill(tests, -1);
+            
+            //Pixels copied from the last image are already worked out
+            for (int y = yMin; y < yMax; y++)
+            {
+                for (int x = xMin; x < xMax; x++)
+                {
+                    if (known(x, y))
+                    {
+                        tests[(y - yMin) * TILE_SIZE + x - xMin] = counts[y * width + x];
+                    }
+                }
+            }
+            
+            subdivide(tests, xMin, yMin, xMin, yMin, xMax - 1, yMax - 1);
+            
+            if (isStale()) return;
+            
+            for (int y = yMin; y < yMax; y++)
+            {
+                for (int x = xMin; x < xMax; x++)
+                {
+                    int test = tests[(y - yMin) * TILE_SIZE + x - xMin];
+                    
+                    counts[y * width + x] = test;
+                    pixels[y * width + x] = table.getRGB(test);
+                }
+            }
+        }
+        
+        /**
+         * subdivide
+         * 
+         * Fills in tests for the rectangle between
+         * (left, top) and (right, bottom), inclusive
+         * 
+         * @param tests  The tile's iteration counts
+         * @param tileX  The x coordinate of the tile
+         * @param tileY  The y coordinate of the tile
+         * @param left   The rectangle's left edge
+         * @param top    The rectangle's top edge
+         * @param right  The rectangle's right edge
+         * @param bottom The rectangle's bottom edge
+         */
+        private void subdivide(int[] tests, int tileX, int tileY, int left, int top, int right, int bottom)
+        {
+            if (isStale()) return;
+            
+            int     edge = test(tests, tileX, tileY, left, top);
+            boolean same = true;
+            
+            for (int x = left; x <= right; x++)
+            {
+                same &= test(tests, tileX, tileY, x, top)    == edge;
+                same &= test(tests, tileX, tileY, x, bottom) == edge;
+            }
+            for (int y = top + 1; y < bottom; y++)
+            {
+                same &= test(tests, tileX, tileY, left,  y) == edge;
+                same &= test(tests, tileX, tileY, right, y) == edge;
+            }
+            
+            //Only the set itself is filled. It has no holes, so nothing
+            //inside its edges can escape, except through a filament
+            //thinner than a pixel. Those show up in small rectangles,
+            //and just inside the edges, so both are checked as well
+            if (same && edge == view.getIterations()
+                && right - left >= MIN_FILL && bottom - top >= MIN_FILL
+                && inside(tests, tileX, tileY, left + 1, top + 1, right - 1, bottom - 1))
+            {
+                for (int y = top + 1; y < bottom; y++)
+                {
+                    int row = (y - tileY) * TILE_SIZE - tileX;
+                    
+                    Arrays.fill(tests, row + left + 1, row + right, edge);
+                }
+            }
+            //Too small to be worth cutting up - just do the middle
+            else if (right - left < 4 || bottom - top < 4)
+            {
+                for (int y = top + 1; y < bottom; y++)
+                {
+                    for (int x = left + 1; x < right; x++)
+                    {
+                        test(tests, tileX, tileY, x, y);
+                    }
+                }
+            }
+            else
+            {
+                int middleX = (left + right) / 2;
+                int middleY = (top + bottom) / 2;
+                
+                subdivide(tests, tileX, tileY, left,    top,     middleX, middleY);
+                subdivide(tests, tileX, tileY, middleX, top,     right,   middleY);
+                subdivide(tests, tileX, tileY, left,    middleY, middleX, bottom);
+                subdivide(tests, tileX, tileY, middleX, middleY, right,   bottom);
+            }
+        }
+        
+        /**
+         * inside
+         * 
+         * Checks the edges of the rectangle between
+         * (left, top) and (right, bottom), inclusive
+         * 
+         * @param tests  The tile's iteration counts
+         * @param tileX  The x coordinate of the tile
+         * @param tileY  The y coordinate of the tile
+         * @param left   The rectangle's left edge
+         * @param top    The rectangle's top edge
+         * @param right  The rectangle's right edge
+         * @param bottom The rectangle's bottom edge
+         * @return true if every edge pixel is inside the set
+         */
+        private boolean inside(int[] tests, int tileX, int tileY, int left, int top, int right, int bottom)
+        {
+            int iterations = view.getIterations();
+            
+            for (int x = left; x <= right; x++)
+            {
+                if (test(tests, tileX, tileY, x, top)    != iterations) return false;
+                if (test(tests, tileX, tileY, x, bottom) != iterations) return false;
+            }
+            for (int y = top + 1; y < bottom; y++)
+            {
+                if (test(tests, tileX, tileY, left,  y) != iterations) return false;
+                if (test(tests, tileX, tileY, right, y) != iterations) return false;
+            }
+            
+            return true;
+        }
+        
+        /**
+         * test
+         * 
+         * Looks up a pixel's iterations in tests,
+         * calculating and saving it if it isn't there yet
+         * 
+         * @param tests The tile's iteration counts
+         * @param tileX The x coordinate of the tile
+         * @param tileY The y coordinate of the tile
+         * @param x     The x coordinate of the pixel
+         * @param y     The y coordinate of the pixel
+         * @return The number of iterations required for divergence
+         */
+        private int test(int[] tests, int tileX, int tileY, int x, int y)
+        {
+            int i = (y - tileY) * TILE_SIZE + x - tileX;
+            
+            if (tests[i] < 0)
+            {
+                engine.calculateRow(x, y, 1, 1, tests, null, i);
+            }
+            
+            return tests[i];
+        }
+        
+        /**
+         * fill
+         * 
+         * Gives the size by size square with its top
+         * left corner at (x, y), clipped to the image,
+         * the same iteration count and colour
+         * 
+         * @param x          The x coordinate
+         * @param y          The y coordinate
+         * @param size       The width and height of the square
+         * @param test       The number of iterations
+         * @param smoothTest The smooth number of iterations, which
+         *                   is only used if smooth isn't null
+         */
+        private void fill(int x, int y, int size, int test, float smoothTest)
+        {
+            int right  = Math.min(x + size, width);
+            int bottom = Math.min(y + size, height);
+            int rgb    = smooth != null ? table.getRGB(smoothTest) : table.getRGB(test);
+            
+            for (int row = y; row < bottom; row++)
+            {
+                for (int i = row * width + x; i < row * width + right; i++)
+                {
+                    counts[i] = test;
+                    pixels[i] = rgb;
+                }
+                
+                if (smooth != null)
+                {
+                    Arrays.fill(smooth, row * width + x, row * width + right, smoothTest);
+                }
+            }
+        }
+    }
+}
+
+/**
+ * ComplexNumber
+ * 
+ * Represents a complex number, having a real
+ * and imaginary section
+ * 
+ * @author Emily Shepherd
+ *
+ */
+class ComplexNumber implements Cloneable
+{
+    /**
+     * The real and imaginary parts of the
+     * complex number
+     */
+    private double real;
+    private double imaginary;
+    
+    /**
+     * ComplexNumber
+     * 
+     * @param real The real part
+     * @param imaginary The imaginary part
+     */
+    public ComplexNumber(double real, double imaginary)
+    {
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+    
+    /**
+     * getReal
+     * 
+     * Returns the real part of the number
+     * 
+     * @return The real part of the number
+     */
+    public double getReal()
+    {
+        return real;
+    }
+    
+    /**
+     * getImaginary
+     * 
+     * Returns the imaginary part of the number
+     * 
+     * @return The imaginary part of the number
+     */
+    public double getImaginary()
+    {
+        return imaginary;
+    }
+    
+    /**
+     * square
+     * 
+     * Squares the number
+     */
+    public void square()
+    {
+        double newReal = real*real - imaginary*imaginary;
+        
+        imaginary = 2 * real * imaginary;
+        real      = newReal;
+    }
+    
+    /**
+     * modulusSquared
+     * 
+     * Returns the square of the modulus of the number
+     * 
+     * @return The square of the modulus of the number
+     */
+    public double modulusSquared()
+    {
+        return real*real + imaginary*imaginary;
+    }
+    
+    /**
+     * add
+     * 
+     * Adds the given ComplexNumber to this one
+     * 
+     * @param d The ComplexNumber to add
+     */
+    public void add(ComplexNumber d)
+    {
+        real      += d.getReal();
+        imaginary += d.getImaginary();
+    }
+    
+    /**
+     * clone
+     * 
+     * Returns a clone of this object.
+     * Not sure if it's ever used.
+     * 
+     * @return A clone
+     */
+    public ComplexNumber clone()
+    {
+        return new ComplexNumber(real, imaginary);
+    }
+    
+    /**
+     * toString
+     * 
+     * Returns string representation of the ComplexNumber
+     * 
+     * @return String representation of the ComplexNumber
+     */
+    public String toString()
+    {
+        return 
+              getReal()      + " + "
+            + getImaginary() + "i";
+    }
+    
+    /**
+     * equals
+     * 
+     * Returns true if the given ComplexNumber is
+     * equal to this one
+     * 
+     * @param number The ComplexNumber to compare this to
+     * @return true, if equal
+     */
+    public boolean equals(ComplexNumber number)
+    {
+        return number.getReal() == real && number.getImaginary() == imaginary;
+    }
+}
+
+/**
+ * Favourite
+ * 
+ * Represents a favourite Julia image
+ * 
+ * @author Emily Shepherd
+ *
+ */
+class Favourite extends JPanel implements MouseListener
+{
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The image that we like
+     */
+    private BufferedImage image;
+    
+    /**
+     * The seed number it came from
+     */
+    private ComplexNumber number;
+    
+    /**
+     * The FavouriteViewer JFrame that this is part of
+     */
+    private FavouriteViewer parent;
+    
+    /**
+     * This pane will have a preview of the image on it
+     */
+    private JPanel UIPane;
+    
+    /**
+     * Favourite
+     * 
+     * 
+     * 
+     * @param bi The image
+     * @param number The ComplexNumber seed
+     * @param parent The parent Favourite JFrame
+     */
+    public Favourite(BufferedImage bi, ComplexNumber number, FavouriteViewer parent)
+    {
+        this.image  = bi;
+        this.number = number;
+        this.parent = parent;
+        
+        setLayout(new FlowLayout());
+        
+        UIPane = new JPanel()
+        { 
+            /**
+             * 
+             */
+            private static final long serialVersionUID = 1L;
+
+            public void paint(Graphics painter)
+            {
+                painter.drawImage(image, 0, 0, 120, 120, null);
+            }
+        };
+        UIPane.setPreferredSize(new Dimension(120, 120));
+        UIPane.setBackground(Color.black);
+        add(UIPane);
+        
+        JLabel label = new JLabel(number.toString());
+        add(label);
+        
+        JButton view = new JButton("View");
+        view.addMouseListener(this);
+        add(view);
+        
+        JButton save = new JButton("Save");
+        save.addActionListener
+        (
+            new ActionListener()
+            {
+                public void actionPerformed(ActionEvent arg0)
+                {
+                    JFileChooser fc = new JFileChooser();
+
+                    if (fc.showSaveDialog(null) != JFileChooser.APPROVE_OPTION) return;
+                    
+                    File saveTo = fc.getSelectedFile();
+                    
+                    try
+                    {
+                        ImageIO.write(image, "png", saveTo);
+                    }
+                    catch (IOException e)
+                    {
+                        // TODO Auto-generated catch block
+                        e.printStackTrace();
+                    }
+                }
+            }
+        );
+        add(save);
+    }
+
+    /**
+     * mouseClicked
+     * 
+     * Tells its parent that the mouse was clicked
+     */
+    public void mouseClicked(MouseEvent arg0)
+    {
+        parent.renderNumber(number);
+    }
+
+    /**
+     * Unused
+     * */
+    public void mouseEntered(MouseEvent arg0){}
+    public void mouseExited(MouseEvent arg0){}
+    public void mousePressed(MouseEvent arg0){}
+    public void mouseReleased(MouseEvent arg0){}
+}
+
+/**
+ * FavouriteViewer
+ * 
+ * This JFrame stores and shows all favourites
+ * 
+ * @author Emily Shepherd
+ *
+ */
+class FavouriteViewer extends JFrame
+{
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The parent JuliaUI
+     */
+    private JuliaUI parent;
+    
+    /**
+     * FavouriteViewer
+     * 
+     * @param parent The parent JuliaUI
+     */
+    public FavouriteViewer(JuliaUI parent)
+    {
+        super("Favourites");
+        
+        this.parent = parent;
+        
+        setLayout(new FlowLayout());
+        setSize(700, 700);
+        setResizable(false);
+    }
+    
+    /**
+     * addFavourite
+     * 
+     * Adds a favourite to the FavouriteViewer
+     * 
+     * @param number The ComplexNumber it represents
+     * @param bi The image
+     */
+    public void addFavourite(ComplexNumber number, BufferedImage bi)
+    {
+        add(new Favourite(bi, number, this));
+    }
+    
+    /**
+     * renderNumber
+     * 
+     * Tells its parent JuliaUI to render the number
+     * (will recalculate it atm) and hides this JFrame.
+     * 
+     * @param number The ComplexNumber to draw
+     */
+    public void renderNumber(ComplexNumber number)
+    {
+        parent.renderNumber(number);
+        setVisible(false);
+    }
+    
+    /**
+     * showForm
+     * 
+     * Alias for setVisible(true);
+     */
+    public void showForm()
+    {
+        setVisible(true);
+    }
+}
+
+/**
+ * JuliaUI
+ * 
+ * The JFrame that shows the Julia set
+ * 
+ * @author Emily Shepherd
+ *
+ */
+class JuliaUI extends AbstractUI
+{
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The FavouriteViewer JFrame
+     */
+    private FavouriteViewer favs;
+    
+    /**
+     * The label that shows the userSelectedPoint
+     */
+    private JLabel point;
+    
+    /**
+     * JuliaUI
+     * 
+     * 
+     */
+    public JuliaUI(AlgorithmChecker ac)
+    {
+        super("Julia Set UI");
+        
+        setLayout(new BorderLayout());
+        
+        favs = new FavouriteViewer(this);
+        
+        //UIPane comes from parent class
+        add(UIPane, BorderLayout.CENTER);
+        
+        //Controls
+        JPanel controls = new JPanel();
+        controls.setLayout(new FlowLayout());
+        add(controls, BorderLayout.NORTH);
+        
+        //Add Favourite Button
+        JButton fav = new JButton("Add Image to Favourites");
+        fav.addActionListener(new ActionListener()
+        {
+            public void actionPerformed(ActionEvent arg0)
+            {
+                favs.addFavourite(userSelectedPoint, image);
+            }
+        });
+        controls.add(fav);
+        
+        //View Favourites Button
+        JButton viewFavs = new JButton("View Favourites");
+        viewFavs.addActionListener(new ActionListener()
+        {
+            public void actionPerformed(ActionEvent arg0)
+            {
+                favs.showForm();
+            }
+        });
+        controls.add(viewFavs);
+        
+        //Label
+        point = new JLabel("");
+        add(point, BorderLayout.SOUTH);
+        
+        //Set up the JuliaChecker with hard coded axis bounds
+        this.ac = ac;
+        this.ac.changeAxis(-2, 2, -1.6, 1.6);
+        this.ac.setIterations(50); //Calculating on the fly is difficult, ok?
+        this.ac.setProgressive(true);
+        this.ac.setVectorised(true);
+        this.ac.addFinishedListener(this);
+        this.ac.addProgressListener(this);
+        
+        setSize(400, 300);
+    }
+    
+    /**
+     * renderNumber
+     * 
+     * Shows the JFrame and draws the number
+     * 
+     * @param c
+     */
+    public void renderNumber(ComplexNumber c)
+    {
+        //Ugly, but it has to be a JuliaChecker for
+        //setC()
+        ac.setC(c);
+        userSelectedPoint = c;
+        
+        ac.start();
+        
+        point.setText(c.toString());
+        
+        //User may have closed the Window.
+        //If so, open it again
+        if (!this.isVisible())
+        {
+            setVisible(true);
+        }
+    }
+    
+    /**
+     * running
+     * 
+     * Returns true if the image is being calculated
+     * 
+     * @return True if the image is being calculated
+     */
+    public boolean running()
+    {
+        return ac.running();
+    }
+    
+    /**
+     * setIterations
+     * 
+     * Sets the iterations for the JuliaChecker
+     * 
+     * @param interations The number of iterations
+     * @see   AlgorithmChecker.setIterations
+     */
+    public void setIterations(int interations)
+    {
+        ac.setIterations(interations);
+    }
+    
+    /**
+     * setPreview
+     * 
+     * In preview mode the Julia set is drawn with
+     * floats, which is twice as many pixels per
+     * vector. Good enough for following the mouse.
+     * 
+     * @param preview true for quick rough images
+     * @see   AlgorithmChecker.setPrecision
+     */
+    public void setPreview(boolean preview)
+    {
+        ac.setPrecision(preview ? Precision.FLOAT : null);
+        ac.setCached(!preview);
+    }
+    
+    /**
+     * setPalette
+     * 
+     * Recolours the Julia set
+     * 
+     * @param palette The Palette to colour with
+     * @see   AlgorithmChecker.setPalette
+     */
+    public void setPalette(Palette palette)
+    {
+        ac.setPalette(palette);
+    }
+    
+    /**
+     * setSmooth
+     * 
+     * Turns smooth colouring on or off, and redraws
+     * the Julia set if it is showing
+     * 
+     * @param smooth true for continuous colours
+     * @see   AlgorithmChecker.setSmooth
+     */
+    public void setSmooth(boolean smooth)
+    {
+        ac.setSmooth(smooth);
+        
+        if (isVisible())
+        {
+            ac.start();
+        }
+    }
+}
+
+/**
+ * MandelbrotChecker
+ * 
+ * Holds the algorithm for calculating the
+ * Mandelbrot set
+ * 
+ * @author Emily Shepherd
+ */
+class MandelbrotChecker extends AlgorithmChecker
+{
+    /**
+     * If true, calculate() and the Engines skip points
+     * they can prove never escape. Turn off to check
+     * the results against the plain loop.
+     */
+    private boolean shortcuts = true;
+    
+    /**
+     * If true, deep zooms skip as many iterations
+     * as the series approximation allows
+     * 
+     * @see PerturbationEngine
+     */
+    private boolean series = true;
+    
+    public MandelbrotChecker(boolean julia)
+    {
+        super(julia);
+    }
+    
+    /**
+     * setShortcuts
+     * 
+     * Turns the cardioid, bulb and periodicity checks
+     * on or off, in calculate() and every Engine. They
+     * never change the result, so this is only useful
+     * for validating them. Takes effect from the next
+     * start()
+     * 
+     * @param shortcuts false to always run the plain loop
+     */
+    public void setShortcuts(boolean shortcuts)
+    {
+        this.shortcuts = shortcuts;
+    }
+    
+    /**
+     * shortcuts
+     * 
+     * @see AlgorithmChecker.shortcuts
+     */
+    protected boolean shortcuts()
+    {
+        return shortcuts;
+    }
+    
+    /**
+     * setSeriesApproximation
+     * 
+     * Turns iteration skipping for deep zooms on or
+     * off. Takes effect from the next start()
+     * 
+     * @param series false to iterate every pixel from the start
+     */
+    public void setSeriesApproximation(boolean series)
+    {
+        this.series = series;
+    }
+    
+    /**
+     * seriesApproximation
+     * 
+     * @see AlgorithmChecker.seriesApproximation
+     */
+    protected boolean seriesApproximation()
+    {
+        return series;
+    }
+    
+    /**
+     * subdivisionSafe
+     * 
+     * The Mandelbrot set is connected with no holes,
+     * so a rectangle can't hide escaping points
+     * inside edges that are all in the set. Julia sets
+     * only have that for some seeds.
+     * 
+     * @see AlgorithmChecker.subdivisionSafe
+     */
+    protected boolean subdivisionSafe()
+    {
+        return !julia;
+    }
+    
+    /**
+     * supports
+     * 
+     * Every Precision, apart from perturbation for
+     * Julia sets
+     * 
+     * @see AlgorithmChecker.supports
+     */
+    protected boolean supports(Precision precision)
+    {
+        return precision != Precision.PERTURBATION || !julia;
+    }
+    
+    /**
+     * calculate
+     * 
+     * Points inside the set are the slowest, as they
+     * run all the way to iterations. So before looping
+     * this checks whether c is in the main cardioid or
+     * the period-2 bulb (when z starts at c, as it
+     * does for the Mandelbrot set), where nothing ever
+     * escapes.
+     * 
+     * While looping, z is saved at iterations 1, 2, 4,
+     * 8 and so on (Brent's method). If z ever lands
+     * exactly on the saved value, the loop has fallen
+     * into a cycle and would go round it forever.
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    public int calculate(double zr, double zi, double cr, double ci)
+    {
+        if (!shortcuts)
+        {
+            return calculatePlain(zr, zi, cr, ci);
+        }
+        
+        if (zr == cr && zi == ci && (inCardioid(cr, ci) || inBulb(cr, ci)))
+        {
+            return iterations;
+        }
+        
+        double savedReal      = zr;
+        double savedImaginary = zi;
+        int    sinceSaved     = 0;
+        int    saveEvery      = 1;
+        
+        for (int i = 1; i < iterations; i++)
+        {
+            double newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                return i;
+            }
+            
+            if (zr == savedReal && zi == savedImaginary)
+            {
+                return iterations;
+            }
+            
+            if (++sinceSaved == saveEvery)
+            {
+                savedReal      = zr;
+                savedImaginary = zi;
+                sinceSaved     = 0;
+                saveEvery     *= 2;
+            }
+        }
+        
+        return iterations;
+    }
+    
+    /**
+     * calculatePlain
+     * 
+     * Same as ComplexNumber.square() then add(), but
+     * on local doubles so nothing is allocated
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculatePlain(double zr, double zi, double cr, double ci)
+    {
+        for (int i = 1; i < iterations; i++)
+        {
+            double newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                return i;
+            }
+        }
+        
+        return iterations;
+    }
+    
+    /**
+     * inCardioid
+     * 
+     * Returns true if c is inside the main cardioid
+     * 
+     * @param cr The real part of c
+     * @param ci The imaginary part of c
+     * @return true if c is in the main cardioid
+     */
+    static boolean inCardioid(double cr, double ci)
+    {
+        double x = cr - 0.25;
+        double q = x*x + ci*ci;
+        
+        return q * (q + x) <= 0.25 * ci*ci;
+    }
+    
+    /**
+     * inBulb
+     * 
+     * Returns true if c is inside the period-2 bulb,
+     * the circle of radius 1/4 around -1
+     * 
+     * @param cr The real part of c
+     * @param ci The imaginary part of c
+     * @return true if c is in the period-2 bulb
+     */
+    static boolean inBulb(double cr, double ci)
+    {
+        double x = cr + 1;
+        
+        return x*x + ci*ci <= 0.0625;
+    }
+}
+
+/**
+ * MandelbrotUI
+ * 
+ * JFrame for showing the Mandelbrot image
+ * 
+ * @author Emily Shepherd
+ */
+class MandelbrotUI extends AbstractUI
+{
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Array of text boxes in the controls
+     */
+    private JTextField[] boxes = new JTextField[5];
+    
+    /**
+     * The JuliaUI JFrame
+     * 
+     * @see JuliaUI
+     */
+    private JuliaUI julia;
+    private JuliaUI[] julias;
+    
+    /**
+     * Algorithms
+     */
+    private AlgorithmChecker[] checkers;
+    
+    /**
+     * This nested class is responsible for
+     * following dragging and drawing the zooming
+     * rectangle
+     * 
+     * @see MandelbrotUI.DragFollower
+     */
+    private DragFollower df = new DragFollower();
+    
+    /**
+     * MandelbrotUI
+     * 
+     */
+    public MandelbrotUI()
+    {
+        super("Mandelbrot UI");
+        
+        checkers = new AlgorithmChecker[2];
+        julias   = new JuliaUI[2];
+        
+        //Setup MandelbrotCheck with default axis values
+        checkers[0] = new MandelbrotChecker(false);//MandelbrotChecker();
+        checkers[1] = new BurningShipChecker(false);//MandelbrotChecker();
+        
+        for (AlgorithmChecker checker : checkers)
+        {
+            checker.setProgressive(true);
+            checker.setVectorised(true);
+            checker.addFinishedListener(this);
+            checker.addProgressListener(this);
+        }
+        
+        ac = checkers[0];
+        ac.changeAxis(-2, 2, -1.6, 1.6);
+        
+        julias[0] = new JuliaUI(new MandelbrotChecker(true));
+        julias[1] = new JuliaUI(new BurningShipChecker(true));
+        julia     = julias[0];
+        
+        //This is the main window, closing it should
+        //end the program
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);     
+        
+        setLayout(new BorderLayout());
+        
+        this.setExtendedState(Frame.MAXIMIZED_BOTH);
+        
+        //UIPane comes from parent class
+        UIPane.setBackground(Color.cyan);
+        UIPane.addMouseMotionListener(df);
+        UIPane.addMouseListener(df);
+        UIPane.addMouseWheelListener(df);
+        add(UIPane,  BorderLayout.CENTER);
+        
+        //controls
+        JPanel controls = new JPanel();
+        controls.setLayout(new FlowLayout());
+        add(controls, BorderLayout.SOUTH);
+        
+        //Checkers combo box
+        JComboBox checkersCombo = new JComboBox(new String[] {"Mandelbrot", "Buring Ship"});
+        checkersCombo.addActionListener
+        (
+            new ActionListener()
+            {
+                /**
+                 * Puts the appropiate ac and juliaUI in place then
+                 * calls reset to ensure they have correct initial
+                 * values
+                 * 
+                 * @see reset()
+                 */
+                public void actionPerformed(ActionEvent e)
+                {
+                    JComboBox combo = (JComboBox)e.getSource();
+                    ac              = checkers[combo.getSelectedIndex()];
+                    julia           = julias[combo.getSelectedIndex()];
+                    reset();
+                }
+            }
+        );
+        controls.add(checkersCombo);
+        
+        //Palettes combo box. Gradients that are loaded are
+        //added to it, just before "Load gradient..."
+        final JComboBox<String> palettesCombo = new JComboBox<String>(new String[] {"Shades", "Load gradient..."});
+        final ArrayList<Palette> palettes = new ArrayList<Palette>();
+        palettes.add(new ShadePalette());
+        palettesCombo.addActionListener
+        (
+            new ActionListener()
+            {
+                /**
+                 * Recolours every fractal with the chosen
+                 * Palette, asking for a file first if it's
+                 * "Load gradient..."
+                 * 
+                 * @see GradientPalette.load
+                 */
+                public void actionPerformed(ActionEvent e)
+                {
+                    int selected = palettesCombo.getSelectedIndex();
+                    
+                    if (selected == palettes.size())
+                    {
+                        JFileChooser fc = new JFileChooser();
+                        
+                        if (fc.showOpenDialog(MandelbrotUI.this) != JFileChooser.APPROVE_OPTION)
+                        {
+                            palettesCombo.setSelectedIndex(0);
+                            return;
+                        }
+                        
+                        try
+                        {
+                            palettes.add(GradientPalette.load(fc.getSelectedFile()));
+                        }
+                        catch (IOException ex)
+                        {
+                            JOptionPane.showMessageDialog(MandelbrotUI.this, ex.getMessage());
+                            palettesCombo.setSelectedIndex(0);
+                            return;
+                        }
+                        
+                        //Selecting the new item calls this again
+                        palettesCombo.insertItemAt(fc.getSelectedFile().getName(), selected);
+                        palettesCombo.setSelectedIndex(selected);
+                        return;
+                    }
+                    
+                    for (int i = 0; i < checkers.length; i++)
+                    {
+                        checkers[i].setPalette(palettes.get(selected));
+                        julias[i].setPalette(palettes.get(selected));
+                    }
+                }
+            }
+        );
+        controls.add(palettesCombo);
+        
+        //Smooth colouring check box
+        JCheckBox smooth = new JCheckBox("Smooth");
+        smooth.addActionListener
+        (
+            new ActionListener()
+            {
+                /**
+                 * Turns smooth colouring on or off for every
+                 * fractal, and redraws the ones on screen
+                 */
+                public void actionPerformed(ActionEvent e)
+                {
+                    boolean selected = ((JCheckBox)e.getSource()).isSelected();
+                    
+                    for (int i = 0; i < checkers.length; i++)
+                    {
+                        checkers[i].setSmooth(selected);
+                        julias[i].setSmooth(selected);
+                    }
+                    
+                    ac.start();
+                }
+            }
+        );
+        controls.add(smooth);
+        
+        //Add text boxes
+        addBox(0, "Minimum X axis value:", "-2",   controls);
+        addBox(1, "Maximum X axis value:", "2",    controls);
+        addBox(2, "Minimum Y axis value:", "-1.6", controls);
+        addBox(3, "Maximum Y axis value:", "1.6",  controls);
+        addBox(4, "Iterations:",           "100",  controls);
+        
+        //Redraw button
+        //This button updates the Mandelbrot axis values
+        JButton draw = new JButton("Redraw");
+        draw.addActionListener
+        (
+            new ActionListener()
+            {
+                /**
+                 * actionPerformed
+                 * 
+                 * Updates the iterations and axis values
+                 * for the MandelbrotChecker and tells it
+                 * to redraw.
+                 * 
+                 * Bit annoying if nothing has changed as it
+                 * will redraw anyway
+                 */
+                public void actionPerformed(ActionEvent arg0)
+                {
+                    //Read exactly, so deep zooms can be typed in
+                    BigDecimal uMinX = new BigDecimal(boxes[0].getText());
+                    BigDecimal uMaxX = new BigDecimal(boxes[1].getText());
+                    BigDecimal uMinY = new BigDecimal(boxes[2].getText());
+                    BigDecimal uMaxY = new BigDecimal(boxes[3].getText());
+
+                    ac.setIterations(new Integer(boxes[4].getText()));
+                    ac.changeAxis(uMinX, uMaxX, uMinY, uMaxY);
+                    ac.start();
+                }
+            }
+        );
+        controls.add(draw);
+        
+        //Reset button
+        JButton reset = new JButton("Reset");
+        reset.addActionListener
+        (
+            new ActionListener()
+            {
+                public void actionPerformed(ActionEvent e)
+                {
+                    reset();
+                }
+            }
+        );
+        controls.add(reset);     
+        
+        //Always should be visible
+        setVisible(true);
+    }
+    
+    /**
+     * addBox
+     * 
+     * Adds a box to the controls JPanel
+     * 
+     * @param i The position to put this in the boxes array
+     * @param text The text for its label
+     * @param val The initial value for the box
+     * @param parent The controls JPanel
+     */
+    private void addBox(int i, String text, String val, JPanel parent)
+    {
+        boxes[i]     = new JTextField(3);
+        boxes[i].setText(val);
+        JLabel label = new JLabel(text);
+        
+        parent.add(label);
+        parent.add(boxes[i]);
+    }
+    
+    /**
+     * reset
+     * 
+     * Resets the UI.
+     *   Sets the axis to default (-2, -1.6) -> (2, 1.6)
+     *   Sets the iterations to default (100)
+     *   Forces the recalculation of the width of the display
+     *   Updates the text boxes
+     *   Repaints
+     */
+    private void reset()
+    {
+        boxes[0].setText("-2");
+        boxes[1].setText("2");
+        boxes[2].setText("-1.6");
+        boxes[3].setText("1.6");
+        boxes[4].setText("100");
+        
+        ac.setIterations(100);
+        ac.changeAxis(-2, 2, -1.6, 1.6);
+        componentResized(null); //calls repaint()
+    }
+    
+    /**
+     * paint
+     * 
+     * Paints above and prompts the DragFollower to
+     * paint()
+     * 
+     * @see DragFollower.paint()
+     */
+    public void paint(Graphics painter)
+    {
+        super.paint(painter);
+        
+        df.paint(painter);
+    }
+    
+    /**
+     * getPoint
+     * 
+     * Converts an (x, y) coordinate into a ComplexNumber
+     * 
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return The ComplexNumber for that point
+     */
+    private ComplexNumber getPoint(int x, int y)
+    {
+        //User defined minimum and maximums
+        //This might not work if the user has changed these values
+        //but hasn't yet hit redraw.
+        //Hmmm... stupid users
+        double uMinX  = new Double(boxes[0].getText()).doubleValue();
+        double uMaxX  = new Double(boxes[1].getText()).doubleValue();
+        double uMinY  = new Double(boxes[2].getText()).doubleValue();
+        double uMaxY  = new Double(boxes[3].getText()).doubleValue();
+        //How much to increment the Mandelbrot values by each iteration
+        double ratioX = Math.abs(uMaxX - uMinX) / UIPane.getWidth();
+        double ratioY = Math.abs(uMaxY - uMinY) / UIPane.getHeight();
+        
+        return new ComplexNumber
+        (
+            uMinX + ratioX * x,
+            uMaxY - ratioY * y  //Minus because pixel y values are in reverse order to axis
+        );
+    }
+    
+    /**
+     * getAxisValue
+     * 
+     * Works out the exact axis value of a pixel
+     * column or row, from the values in the text
+     * boxes. It is rounded to a thousandth of a
+     * pixel, so the number of digits only grows as
+     * fast as the zoom.
+     * 
+     * @param min    The axis value of the first pixel
+     * @param max    The axis value of the last pixel
+     * @param pixel  The column or row
+     * @param pixels The number of columns or rows
+     * @return The axis value
+     */
+    private BigDecimal getAxisValue(BigDecimal min, BigDecimal max, int pixel, int pixels)
+    {
+        BigDecimal ratio = max.subtract(min).divide
+        (
+            BigDecimal.valueOf(pixels), MathContext.DECIMAL64
+        );
+        
+        //ratio is about 10^exponent
+        int exponent = ratio.precision() - ratio.scale() - 1;
+        
+        return min.add(ratio.multiply(BigDecimal.valueOf(pixel)))
+            .setScale(3 - exponent, RoundingMode.HALF_EVEN)
+            .stripTrailingZeros();
+    }
+    
+    /**
+     * DragFollower
+     * 
+     * Responsible for following the users click and drag
+     * to zoom, and for drawing a rectangle to match that.
+     * Dragging with the right button moves the view, and
+     * the mouse wheel zooms in and out by 2x.
+     * 
+     * @author Emily Shepherd
+     *
+     */
+    private class DragFollower implements MouseListener, MouseMotionListener, MouseWheelListener
+    {
+        /**
+         * Where they started dragging
+         */
+        private MouseEvent startPoint;
+        
+        /**
+         * Where they are now
+         */
+        private MouseEvent currentPoint;
+        
+        /**
+         * True if the drag is with the right mouse
+         * button, which moves the view instead of
+         * zooming
+         */
+        private boolean panning;
+        
+        /**
+         * Used to redraw the screen every 70ms
+         */
+        private Timer timer;
+        
+        /**
+         * Last ComplexNumber we drew last
+         * If it is the same, the screen won't
+         * be redrawn unnecessarily
+         */
+        private ComplexNumber lastDrawn;
+        
+        /**
+         * If true, it will redraw the JuliaUI in real
+         * time as you move your mouse.
+         */
+        private boolean realTime = false;
+        
+        /**
+         * DragFollower
+         * 
+         */
+        public DragFollower()
+        {
+            timer = new Timer();
+            reschedule();
+        }
+        
+        /**
+         * mouseDragged
+         * 
+         * Follows the mouse being dragged to zoom
+         */
+        public void mouseDragged(MouseEvent e)
+        {
+            if (startPoint == null)
+            {
+                startPoint = e;
+                panning    = SwingUtilities.isRightMouseButton(e);
+            }
+            else
+            {
+                currentPoint = e;
+            }
+        }
+        
+        /**
+         * reschedule
+         * 
+         * Reschedules the timer with our TimerTask
+         */
+        private void reschedule()
+        {
+            timer.schedule
+            (
+                new TimerTask()
+                {
+                    /**
+                     * run
+                     * 
+                     * Does the task
+                     */
+                    public void run()
+                    {
+                        //We aren't on the screen
+                        //Drawing is pointless
+                        if (currentPoint == null)
+                        {
+                            reschedule();
+                            return;
+                        }
+                        
+                        ComplexNumber thisPoint = getPoint(currentPoint.getX(), currentPoint.getY());
+                        
+                        //If we've already dealt with this point, there's nothing
+                        //to do here
+                        if (lastDrawn != null && lastDrawn.equals(thisPoint))
+                        {
+                            reschedule();
+                            return;
+                        }
+                        
+                        lastDrawn = thisPoint;
+                        
+                        //Real time drawing of the Julia set
+                        //Starting a new render cancels the one that is
+                        //still running, so the preview always chases the
+                        //latest point rather than dropping it
+                        if (realTime)
+                        {
+                            julia.renderNumber(thisPoint);
+                        }
+                        
+                        //Repaint the screen for the dragging box
+                        if (startPoint != null)
+                        {
+                            repaint();
+                        }
+                        
+                        reschedule();
+                    }
+                },
+                70
+            );
+        }
+        
+        /**
+         * paint
+         * 
+         * Paints the red rectangle
+         * 
+         * @param _painter Ignores this, so that's good
+         */
+        public void paint(Graphics _painter)
+        {
+            //If we don't have a startPoint, we weren't dragging
+            if (startPoint == null || panning) return;
+            
+            Graphics painter = UIPane.getGraphics();
+            painter.setColor(Color.red);
+            
+            int coords[] = getCurrentCoords();
+            
+            painter.drawRect(coords[0], coords[1], coords[2], coords[3]);
+        }
+        
+        /**
+         * getCurrentCoords
+         * 
+         * Calculates the top left coords, width and
+         * height of our required rectangle from
+         * currentPoint and startPoint, because
+         * Graphics.drawRect() doesn't like negative
+         * widths, heights apparently.
+         * 
+         * @return Array of coordinates
+         */
+        private int[] getCurrentCoords()
+        {
+            int topX   = startPoint.getX();
+            int topY   = startPoint.getY();
+            int width  = currentPoint.getX() - startPoint.getX();
+            int height = currentPoint.getY() - startPoint.getY();
+            
+            //Minus widths / heights are bad. So flip the values
+            //if they are.
+            if (currentPoint.getX() < topX)
+            {
+                topX   = currentPoint.getX();
+                width *= -1;
+            }
+            if (currentPoint.getY() < topY)
+            {
+                topY    = currentPoint.getY();
+                height *= -1;
+            }
+            
+            return new int[] {topX, topY, width, height};
+        }
+        
+        /**
+         * mouseReleased
+         * 
+         * If dragging was in operation, this tells
+         * the controls the new axis bounds and sets the
+         * MandelbrotChecker redrawing the fractal in
+         * the zoomed in view.
+         */
+        public void mouseReleased(MouseEvent arg0)
+        {
+            //Nothing is happening here
+            if (timer == null || startPoint == null || currentPoint == null) return;
+            
+            if (panning)
+            {
+                pan(currentPoint.getX() - startPoint.getX(), currentPoint.getY() - startPoint.getY());
+                
+                startPoint = null;
+                return;
+            }
+            
+            int topX    = startPoint.getX();
+            int topY    = startPoint.getY();
+            int bottomX = currentPoint.getX();
+            int bottomY = currentPoint.getY();
+            
+            if (bottomX > topX)
+            {
+                topX    = bottomX;
+                bottomX = startPoint.getX();
+            }
+            if (bottomY > topY)
+            {
+                topY    = bottomY;
+                bottomY = startPoint.getY();
+            }
+            
+            //Worked out exactly rather than with getPoint(), so
+            //zooming can go deeper than a double
+            BigDecimal uMinX = new BigDecimal(boxes[0].getText());
+            BigDecimal uMaxX = new BigDecimal(boxes[1].getText());
+            BigDecimal uMinY = new BigDecimal(boxes[2].getText());
+            BigDecimal uMaxY = new BigDecimal(boxes[3].getText());
+            
+            int width  = UIPane.getWidth();
+            int height = UIPane.getHeight();
+            
+            //Pixel y values are in reverse order to axis
+            BigDecimal minX = getAxisValue(uMinX, uMaxX, bottomX, width);
+            BigDecimal maxX = getAxisValue(uMinX, uMaxX, topX,    width);
+            BigDecimal minY = getAxisValue(uMaxY, uMinY, topY,    height);
+            BigDecimal maxY = getAxisValue(uMaxY, uMinY, bottomY, height);
+          
+            //Tell the AlgorithmChecker, and set that off
+            ac.changeAxis(minX, maxX, minY, maxY);
+            ac.start();
+            
+            //Update the GUI controls
+            boxes[0].setText(minX.toString());
+            boxes[1].setText(maxX.toString());
+            boxes[2].setText(minY.toString());
+            boxes[3].setText(maxY.toString());
+            
+            //Stop dragging
+            startPoint = null;
+        }
+        
+        /**
+         * pan
+         * 
+         * Moves the view so the point that was under
+         * the mouse is under it again. Both ends of each
+         * axis move by exactly the same amount, so the
+         * AlgorithmChecker sees the pixels keep their
+         * size and only draws the strips that come into
+         * view.
+         * 
+         * @param moveX How far right the mouse moved
+         * @param moveY How far down the mouse moved
+         * @see   View.offsetFrom
+         */
+        private void pan(int moveX, int moveY)
+        {
+            if (moveX == 0 && moveY == 0) return;
+            
+            BigDecimal uMinX = new BigDecimal(boxes[0].getText());
+            BigDecimal uMaxX = new BigDecimal(boxes[1].getText());
+            BigDecimal uMinY = new BigDecimal(boxes[2].getText());
+            BigDecimal uMaxY = new BigDecimal(boxes[3].getText());
+            
+            BigDecimal shiftX = getAxisValue(BigDecimal.ZERO, uMaxX.subtract(uMinX), moveX, UIPane.getWidth());
+            BigDecimal shiftY = getAxisValue(BigDecimal.ZERO, uMaxY.subtract(uMinY), moveY, UIPane.getHeight());
+            
+            //Pixel y values are in reverse order to axis
+            BigDecimal minX = uMinX.subtract(shiftX);
+            BigDecimal maxX = uMaxX.subtract(shiftX);
+            BigDecimal minY = uMinY.add(shiftY);
+            BigDecimal maxY = uMaxY.add(shiftY);
+            
+            ac.changeAxis(minX, maxX, minY, maxY);
+            ac.start();
+            
+            boxes[0].setText(minX.toString());
+            boxes[1].setText(maxX.toString());
+            boxes[2].setText(minY.toString());
+            boxes[3].setText(maxY.toString());
+        }
+        
+        /**
+         * mouseWheelMoved
+         * 
+         * Zooms in 2x for each notch the wheel is turned
+         * up, or out for each one down, keeping the point
+         * under the mouse where it is. Zooming in lines
+         * the new pixels up with the old ones, so the
+         * AlgorithmChecker only has to draw the ones
+         * between.
+         * 
+         * @see View.offsetFrom
+         */
+        public void mouseWheelMoved(MouseWheelEvent e)
+        {
+            int notches = e.getWheelRotation();
+            
+            if (notches == 0) return;
+            
+            BigDecimal uMinX = new BigDecimal(boxes[0].getText());
+            BigDecimal uMaxX = new BigDecimal(boxes[1].getText());
+            BigDecimal uMinY = new BigDecimal(boxes[2].getText());
+            BigDecimal uMaxY = new BigDecimal(boxes[3].getText());
+            
+            //A power of two, so the new ranges are exact
+            boolean    in     = notches < 0;
+            int        times  = 1 << Math.min(Math.abs(notches), 8);
+            BigDecimal oldX   = uMaxX.subtract(uMinX);
+            BigDecimal oldY   = uMaxY.subtract(uMinY);
+            BigDecimal factor = BigDecimal.valueOf(times);
+            BigDecimal rangeX = in ? oldX.divide(factor) : oldX.multiply(factor);
+            BigDecimal rangeY = in ? oldY.divide(factor) : oldY.multiply(factor);
+            
+            //For the point under the mouse to stay put, the top
+            //left corner moves by times - 1 lots of the mouse's
+            //position, in whichever pixels are smaller. Worked
+            //out that way, it is rounded to a thousandth of one.
+            int        sign   = in ? times - 1 : 1 - times;
+            BigDecimal shiftX = getAxisValue(BigDecimal.ZERO, in ? rangeX : oldX, e.getX() * sign, UIPane.getWidth());
+            BigDecimal shiftY = getAxisValue(BigDecimal.ZERO, in ? rangeY : oldY, e.getY() * sign, UIPane.getHeight());
+            
+            //Pixel y values are in reverse order to axis
+            BigDecimal minX = uMinX.add(shiftX);
+            BigDecimal maxX = minX.add(rangeX);
+            BigDecimal maxY = uMaxY.subtract(shiftY);
+            BigDecimal minY = maxY.subtract(rangeY);
+            
+            ac.changeAxis(minX, maxX, minY, maxY);
+            ac.start();
+            
+            boxes[0].setText(minX.toString());
+            boxes[1].setText(maxX.toString());
+            boxes[2].setText(minY.toString());
+            boxes[3].setText(maxY.toString());
+        }
+        
+        /**
+         * mouseMoved
+         * 
+         * Keeps tabs on the mouse position by saving
+         * it to currentPoint
+         */
+        public void mouseMoved(MouseEvent e)
+        {
+            currentPoint = e;
+        }
+        
+        /**
+         * mouseClicked
+         * 
+         * Switches live following on / off
+         * and updates the iterations - live gets 50,
+         * static gets 100. Live is also drawn as a
+         * (float) preview
+         * 
+         */
+        public void mouseClicked(MouseEvent e)
+        {
+            realTime = !realTime;
+            
+            if (realTime)
+            {
+                julia.setIterations(50);
+                julia.setPreview(true);
+                
+                julia.renderNumber(getPoint(e.getX(), e.getY()));
+            }
+            else
+            {
+                julia.setIterations(100);
+                julia.setPreview(false);
+                
+                userSelectedPoint = getPoint(e.getX(), e.getY());
+                
+                julia.renderNumber(userSelectedPoint);
+            }
+        }
+        
+        /**
+         * Unused
+         */
+        public void mouseEntered(MouseEvent arg0) {}
+        public void mouseExited(MouseEvent arg0) {}
+        public void mousePressed(MouseEvent e){}
+    }
+}
+
+/**
+ * BurningShipChecker
+ */
+class BurningShipChecker extends AlgorithmChecker
+{
+    /**
+     * Calls parent
+     * 
+     * @param julia Is this a Julia set?
+     */
+    public BurningShipChecker(boolean julia)
+    {
+        super(julia);
+    }
+    
+    /**
+     * absoluteParts
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    protected boolean absoluteParts()
+    {
+        return true;
+    }
+    
+    /**
+     * supports
+     * 
+     * Every Precision, apart from perturbation for
+     * Julia sets
+     * 
+     * @see AlgorithmChecker.supports
+     */
+    protected boolean supports(Precision precision)
+    {
+        return precision != Precision.PERTURBATION || !julia;
+    }
+
+    /**
+     * calculate
+     * 
+     * Calculate the factal. Folds z into the positive
+     * quadrant before squaring, without allocating
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    public int calculate(double zr, double zi, double cr, double ci)
+    {
+        for (int i = 1; i < iterations; i++)
+        {
+            zr = Math.abs(zr);
+            zi = Math.abs(zi);
+            
+            double newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                return i;
+            }
+        }
+        
+        return iterations;
+    }
+}
+
+/**
+ * Palette
+ * 
+ * Turns the number of iterations a pixel took into
+ * its colour. The checker keeps the iteration counts,
+ * so a new Palette can be given to
+ * AlgorithmChecker.setPalette() without anything
+ * being recalculated.
+ * 
+ * Palettes are only asked for the colours of a
+ * ColourTable, so getRGB() can be as slow as it
+ * likes. It shouldn't change once it has been given
+ * to a checker.
+ * 
+ * @see ColourTable
+ * @author Emily Shepherd
+ */
+interface Palette
+{
+    /**
+     * getRGB
+     * 
+     * @param tests      The number of iterations the pixel took,
+     *                   which has a fractional part when colouring
+     *                   smoothly
+     * @param iterations The most it could have taken
+     * @return The colour, packed as 0xRRGGBB
+     */
+    public int getRGB(double tests, int iterations);
+}
+
+/**
+ * ShadePalette
+ * 
+ * The original colours. Pixels that escape straight
+ * away are white, and the longer they take the more
+ * they fade through yellow and red towards black.
+ * 
+ * @author Emily Shepherd
+ */
+class ShadePalette implements Palette
+{
+    /**
+     * getRGB
+     * 
+     * @see Palette.getRGB
+     */
+    public int getRGB(double tests, int iterations)
+    {
+        //3 * 255 = 765, so the ratio scales tests up to
+        //between 0 and 765 for the three colours
+        int shadeRatio = 765 / iterations;
+        
+        return toRGB(3 * 255 - (int)(tests * shadeRatio));
+    }
+    
+    /**
+     * toRGB
+     * 
+     * Takes a number between 0 and 3 * 255,
+     * splits it into three numbers between 0
+     * and 255 and packs those into an int in
+     * the TYPE_INT_RGB layout.
+     * 
+     * Can take a number higher than 3 * 255, if
+     * you're extending my work like a n00b. (It
+     * will ignore the heigher bits).
+     * 
+     * @param shade The 0-3*255 number
+     * @return The packed 0xRRGGBB colour
+     */
+    private int toRGB(int shade)
+    {
+        int red   = shade > 255 ? 255 : shade;
+        shade -= red;
+        int green = shade > 255 ? 255 : shade;
+        shade -= green;
+        int blue  = shade > 255 ? 255 : shade;
+        
+        return (red << 16) | (green << 8) | blue;
+    }
+}
+
+/**
+ * GradientPalette
+ * 
+ * Blends between a list of colours, each at a
+ * position between 0 and 1. The gradient wraps
+ * round, so after the last colour it blends back
+ * into the first. It can be stretched over all the
+ * iterations, or repeated every period iterations,
+ * which keeps deep zooms colourful.
+ * 
+ * Gradients can be loaded from text files like:
+ * 
+ *   # Lines starting with # are ignored
+ *   period 64
+ *   inside 000000
+ *   0      000764
+ *   0.16   206bcb
+ *   0.42   edffff
+ *   0.6425 ffaa00
+ *   0.8575 000200
+ * 
+ * period and inside (the colour of points that never
+ * escape) are optional. Every other line is a
+ * position and a hex colour, in order.
+ * 
+ * @author Emily Shepherd
+ */
+class GradientPalette implements Palette
+{
+    /**
+     * The positions of the colours, from smallest to
+     * largest, and the colours
+     */
+    private double[] positions;
+    private int[]    colours;
+    
+    /**
+     * The number of iterations one trip through the
+     * gradient takes, or 0 to stretch it over all of
+     * them
+     */
+    private double period;
+    
+    /**
+     * The colour of points that never escape
+     */
+    private int inside;
+    
+    /**
+     * GradientPalette
+     * 
+     * @param positions Where each colour is, from 0 to 1 in order
+     * @param colours   The colours, packed as 0xRRGGBB
+     * @param period    The iterations per trip through the
+     *                  gradient, 0 to use all of them
+     * @param inside    The colour of points that never escape
+     */
+    public GradientPalette(double[] positions, int[] colours, double period, int inside)
+    {
+        if (positions.length == 0)
+        {
+            throw new IllegalArgumentException("Needs at least one colour");
+        }
+        if (positions.length != colours.length)
+        {
+            throw new IllegalArgumentException("Needs one position per colour");
+        }
+        
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] < 0 || positions[i] >= 1 || i > 0 && positions[i] <= positions[i - 1])
+            {
+                throw new IllegalArgumentException("Positions must go up from 0 to below 1");
+            }
+        }
+        
+        this.positions = positions.clone();
+        this.colours   = colours.clone();
+        this.period    = period;
+        this.inside    = inside;
+    }
+    
+    /**
+     * load
+     * 
+     * Reads a gradient from a file in the format
+     * above
+     * 
+     * @param file The file
+     * @return The GradientPalette
+     * @throws IOException If it can't be read, or isn't a gradient
+     */
+    public static GradientPalette load(File file) throws IOException
+    {
+        ArrayList<Double>  positions = new ArrayList<Double>();
+        ArrayList<Integer> colours   = new ArrayList<Integer>();
+        double             period    = 0;
+        int                inside    = 0;
+        
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        
+        try
+        {
+            String line;
+            
+            for (int number = 1; (line = reader.readLine()) != null; number++)
+            {
+                String[] parts = line.trim().split("\\s+");
+                
+                if (parts[0].isEmpty() || parts[0].startsWith("#")) continue;
+                
+                if (parts.length != 2)
+                {
+                    throw new IOException(file + " line " + number + ": expected two values");
+                }
+                
+                try
+                {
+                    if (parts[0].equals("period"))
+                    {
+                        period = Double.parseDouble(parts[1]);
+                    }
+                    else if (parts[0].equals("inside"))
+                    {
+                        inside = Integer.parseInt(parts[1], 16);
+                    }
+                    else
+                    {
+                        positions.add(Double.parseDouble(parts[0]));
+                        colours.add(Integer.parseInt(parts[1], 16));
+                    }
+                }
+                catch (NumberFormatException e)
+                {
+                    throw new IOException(file + " line " + number + ": " + e.getMessage());
+                }
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+        
+        double[] p = new double[positions.size()];
+        int[]    c = new int[colours.size()];
+        
+        for (int i = 0; i < p.length; i++)
+        {
+            p[i] = positions.get(i);
+            c[i] = colours.get(i);
+        }
+        
+        try
+        {
+            return new GradientPalette(p, c, period, inside);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IOException(file + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * getRGB
+     * 
+     * @see Palette.getRGB
+     */
+    public int getRGB(double tests, int iterations)
+    {
+        if (tests >= iterations)
+        {
+            return inside;
+        }
+        
+        double position = tests / (period > 0 ? period : iterations);
+        position -= Math.floor(position);
+        
+        //Before the first colour is the part that blends
+        //from the last one back round to it
+        if (position < positions[0])
+        {
+            position += 1;
+        }
+        
+        int i = 0;
+        
+        while (i + 1 < positions.length && positions[i + 1] <= position)
+        {
+            i++;
+        }
+        
+        int    next = (i + 1) % positions.length;
+        double end  = next > i ? positions[next] : positions[next] + 1;
+        
+        return blend(colours[i], colours[next], (position - positions[i]) / (end - positions[i]));
+    }
+    
+    /**
+     * blend
+     * 
+     * @param from   The first colour
+     * @param to     The second colour
+     * @param amount How far from the first to the second, 0 to 1
+     * @return The colour in between
+     */
+    private static int blend(int from, int to, double amount)
+    {
+        int rgb = 0;
+        
+        for (int shift = 16; shift >= 0; shift -= 8)
+        {
+            int a = (from >> shift) & 0xff;
+            int b = (to   >> shift) & 0xff;
+            
+            rgb |= (int)Math.round(a + (b - a) * amount) << shift;
+        }
+        
+        return rgb;
+    }
+}
+
+/**
+ * ColourTable
+ * 
+ * Every colour a Palette gives for one number of
+ * iterations, worked out in advance. Colouring a
+ * pixel is then a single array lookup.
+ * 
+ * Each iteration gets several entries, so smooth
+ * colouring's fractions still blend. The table
+ * holds about TABLE_SIZE colours, unless there are
+ * more iterations than that, in which case it has
+ * one per iteration.
+ * 
+ * @author Emily Shepherd
+ */
+class ColourTable
+{
+    /**
+     * Roughly the number of colours in a table
+     */
+    private static final int TABLE_SIZE = 65536;
+    
+    /**
+     * The colours, steps per iteration, with the
+     * last one for points that never escape
+     */
+    private final int[] colours;
+    private final int   steps;
+    
+    /**
+     * ColourTable
+     * 
+     * @param palette    The Palette to take the colours from
+     * @param iterations The number of iterations
+     */
+    public ColourTable(Palette palette, int iterations)
+    {
+        steps   = Math.max(1, TABLE_SIZE / iterations);
+        colours = new int[iterations * steps + 1];
+        
+        for (int i = 0; i < colours.length; i++)
+        {
+            colours[i] = palette.getRGB((double)i / steps, iterations);
+        }
+    }
+    
+    /**
+     * getRGB
+     * 
+     * @param tests The number of iterations the pixel took
+     * @return The colour
+     */
+    public int getRGB(int tests)
+    {
+        return colours[tests * steps];
+    }
+    
+    /**
+     * getRGB
+     * 
+     * @param tests The smooth number of iterations the pixel
+     *              took, from 0 to iterations
+     * @return The colour
+     * @see   View.smooth
+     */
+    public int getRGB(float tests)
+    {
+        return colours[(int)(tests * steps)];
+    }
+}
+
+/**
+ * TileCache
+ * 
+ * Keeps the iteration counts of recently drawn
+ * tiles, so going back to a view, or switching to
+ * another fractal and back, doesn't calculate them
+ * all again. It holds as many tiles as fit in its
+ * budget of bytes, and throws out the least
+ * recently used ones to make room.
+ * 
+ * One is shared by every AlgorithmChecker. Its
+ * methods are synchronized, as the pool's threads
+ * all use it at once.
+ * 
+ * @author Emily Shepherd
+ * @see    AlgorithmChecker.getTileCache
+ */
+class TileCache
+{
+    /**
+     * About how many bytes a tile takes on top of its
+     * arrays, for its key and the map's entry
+     */
+    private static final int OVERHEAD = 256;
+    
+    /**
+     * The tiles, least recently used first
+     */
+    private final LinkedHashMap<Key, Tile> tiles = new LinkedHashMap<Key, Tile>(64, 0.75f, true);
+    
+    /**
+     * The most bytes the tiles may take, and how many
+     * they take now
+     */
+    private long budget;
+    private long bytes = 0;
+    
+    /**
+     * The number of times get() found a tile, and the
+     * number of times it didn't
+     */
+    private long hits   = 0;
+    private long misses = 0;
+    
+    /**
+     * TileCache
+     * 
+     * @param budget The most bytes the tiles may take
+     */
+    public TileCache(long budget)
+    {
+        this.budget = budget;
+    }
+    
+    /**
+     * get
+     * 
+     * @param key Which tile
+     * @return The tile, or null if it isn't here
+     */
+    public synchronized Tile get(Key key)
+    {
+        Tile tile = tiles.get(key);
+        
+        if (tile == null)
+        {
+            misses++;
+        }
+        else
+        {
+            hits++;
+        }
+        
+        return tile;
+    }
+    
+    /**
+     * put
+     * 
+     * Adds a tile, throwing out the least recently
+     * used ones until it fits
+     * 
+     * @param key  Which tile
+     * @param tile Its iteration counts
+     */
+    public synchronized void put(Key key, Tile tile)
+    {
+        Tile old = tiles.put(key, tile);
+        
+        if (old != null)
+        {
+            bytes -= old.getBytes();
+        }
+        
+        bytes += tile.getBytes();
+        evict();
+    }
+    
+    /**
+     * setBudget
+     * 
+     * Changes the most bytes the tiles may take. 0
+     * turns the cache off.
+     * 
+     * @param budget The number of bytes
+     */
+    public synchronized void setBudget(long budget)
+    {
+        this.budget = budget;
+        evict();
+    }
+    
+    /**
+     * clear
+     * 
+     * Throws every tile out, and starts counting hits
+     * and misses again
+     */
+    public synchronized void clear()
+    {
+        tiles.clear();
+        
+        bytes  = 0;
+        hits   = 0;
+        misses = 0;
+    }
+    
+    /**
+     * evict
+     * 
+     * Throws out the least recently used tiles until
+     * the rest fit in the budget
+     */
+    private void evict()
+    {
+        Iterator<Tile> it = tiles.values().iterator();
+        
+        while (bytes > budget && it.hasNext())
+        {
+            bytes -= it.next().getBytes();
+            it.remove();
+        }
+    }
+    
+    /**
+     * getBudget
+     * 
+     * Returns the most bytes the tiles may take
+     * before the least recently used are thrown out
+     * 
+     * @return The budget, in bytes
+     * @see   setBudget
+     */
+    public synchronized long getBudget()
+    {
+        return budget;
+    }
+    
+    /**
+     * getBytes
+     * 
+     * Returns roughly how much memory the tiles take,
+     * with their keys and the map's entries
+     * 
+     * @return The size of the tiles, in bytes
+     */
+    public synchronized long getBytes()
+    {
+        return bytes;
+    }
+    
+    /**
+     * getTiles
+     * 
+     * Returns the number of tiles in the cache
+     * 
+     * @return The number of tiles
+     */
+    public synchronized int getTiles()
+    {
+        return tiles.size();
+    }
+    
+    /**
+     * getHits
+     * 
+     * Returns the number of times get() found a tile
+     * since the cache was made or last cleared
+     * 
+     * @return The number of hits
+     */
+    public synchronized long getHits()
+    {
+        return hits;
+    }
+    
+    /**
+     * getMisses
+     * 
+     * Returns the number of times get() didn't find
+     * a tile since the cache was made or last cleared
+     * 
+     * @return The number of misses
+     */
+    public synchronized long getMisses()
+    {
+        return misses;
+    }
+    
+    /**
+     * toString
+     * 
+     * @return The hits, misses and size, for logging
+     */
+    public synchronized String toString()
+    {
+        long lookups = hits + misses;
+        
+        return String.format
+        (
+            "%d hits, %d misses (%.1f%%), %d tiles, %d of %d KB",
+            hits, misses, lookups == 0 ? 0.0 : 100.0 * hits / lookups,
+            tiles.size(), bytes / 1024, budget / 1024
+        );
+    }
+    
+    /**
+     * Key
+     * 
+     * Everything the iteration counts of a tile
+     * depend on: the fractal, its seed, where the
+     * tile's top left pixel is exactly, the gap
+     * between pixels (which is the zoom level), the
+     * tile's size, the iterations and how it was
+     * calculated.
+     * 
+     * @author Emily Shepherd
+     */
+    static class Key
+    {
+        private final Class<?>   type;
+        private final boolean    julia;
+        private final double     seedReal;
+        private final double     seedImaginary;
+        private final BigDecimal left;
+        private final BigDecimal top;
+        private final double     stepX;
+        private final double     stepY;
+        private final int        width;
+        private final int        height;
+        private final int        iterations;
+        private final Precision  precision;
+        private final boolean    series;
+        private final boolean    subdivided;
+        private final boolean    smooth;
+        private final int        hash;
+        
+        /**
+         * Key
+         * 
+         * @param type       The AlgorithmChecker's class
+         * @param view       The View the tile is in
+         * @param x          The x coordinate of its top left pixel
+         * @param y          The y coordinate of its top left pixel
+         * @param width      Its width
+         * @param height     Its height
+         * @param precision  The Precision it is drawn with
+         * @param series     Is series approximation used?
+         * @param subdivided Is it drawn with subdivideTile()?
+         * @param smooth     Does it have smooth iteration counts?
+         */
+        public Key(Class<?> type, View view, int x, int y, int width, int height,
+            Precision precision, boolean series, boolean subdivided, boolean smooth)
+        {
+            this.type          = type;
+            this.julia         = view.isJulia();
+            this.seedReal      = view.getSeedReal();
+            this.seedImaginary = view.getSeedImaginary();
+            this.stepX         = view.getAxisXStep();
+            this.stepY         = view.getAxisYStep();
+            this.width         = width;
+            this.height        = height;
+            this.iterations    = view.getIterations();
+            this.precision     = precision;
+            this.series        = series;
+            this.subdivided    = subdivided;
+            this.smooth        = smooth;
+            
+            //Worked out exactly, and without trailing zeros so
+            //equal values have equal hash codes
+            left = view.getExactXMin()
+                .add(new BigDecimal(stepX).multiply(BigDecimal.valueOf(x)))
+                .stripTrailingZeros();
+            top  = view.getExactYMax()
+                .subtract(new BigDecimal(stepY).multiply(BigDecimal.valueOf(y)))
+                .stripTrailingZeros();
+            
+            hash = Arrays.hashCode(new Object[]
+            {
+                type, julia, seedReal, seedImaginary, left, top, stepX, stepY,
+                width, height, iterations, precision, series, subdivided, smooth
+            });
+        }
+        
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key)) return false;
+            
+            Key other = (Key)o;
+            
+            return hash          == other.hash
+                && type          == other.type
+                && julia         == other.julia
+                && seedReal      == other.seedReal
+                && seedImaginary == other.seedImaginary
+                && stepX         == other.stepX
+                && stepY         == other.stepY
+                && width         == other.width
+                && height        == other.height
+                && iterations    == other.iterations
+                && precision     == other.precision
+                && series        == other.series
+                && subdivided    == other.subdivided
+                && smooth        == other.smooth
+                && left.equals(other.left)
+                && top.equals(other.top);
+        }
+        
+        public int hashCode()
+        {
+            return hash;
+        }
+        
+        /**
+         * toString
+         * 
+         * @return Every part of the key, in a form that
+         *         is the same from one run to the next
+         * @see    TileStore
+         */
+        public String toString()
+        {
+            return type.getName() + " " + julia + " " + seedReal + " " + seedImaginary
+                + " " + left + " " + top + " " + stepX + " " + stepY
+                + " " + width + "x" + height + " " + iterations + " " + precision
+                + " " + series + " " + subdivided + " " + smooth;
+        }
+    }
+    
+    /**
+     * Tile
+     * 
+     * The iteration counts of one tile, row by row,
+     * and its smooth iteration counts if it has them
+     * 
+     * @author Emily Shepherd
+     */
+    static class Tile
+    {
+        private final int[]   counts;
+        private final float[] smooth;
+        
+        /**
+         * Tile
+         * 
+         * @param counts The iteration counts
+         * @param smooth The smooth iteration counts, or null
+         */
+        public Tile(int[] counts, float[] smooth)
+        {
+            this.counts = counts;
+            this.smooth = smooth;
+        }
+        
+        public int[] getCounts()
+        {
+            return counts;
+        }
+        
+        public float[] getSmooth()
+        {
+            return smooth;
+        }
+        
+        /**
+         * getBytes
+         * 
+         * @return About how much memory it takes
+         */
+        public long getBytes()
+        {
+            return OVERHEAD + 4L * counts.length + (smooth != null ? 4L * smooth.length : 0);
+        }
+    }
+}
+
+/**
+ * TileStore
+ * 
+ * Keeps finished tiles on disk, so they outlast the
+ * program. Tiles are appended to segment files,
+ * which are memory mapped to read them back, and an
+ * index file says where each one is. Tiles are
+ * never rewritten, so a crash can at worst lose the
+ * last few.
+ * 
+ * The segments are kept within a budget of bytes.
+ * Once they go over it, the oldest is deleted with
+ * all its tiles, and the index is written again
+ * without them, so neither grows without end. A
+ * crash while that happens loses the index, but
+ * the segments are found and trimmed all the same.
+ * 
+ * Tiles are written by a thread of its own, so the
+ * pool's threads never wait for the disk. If another
+ * program already has the directory open, this one
+ * only reads from it.
+ * 
+ * @author Emily Shepherd
+ * @see    AlgorithmChecker.setTileStore
+ */
+class TileStore
+{
+    /**
+     * The first int of the index file, then the version
+     */
+    private static final int MAGIC   = 0x54494C45;
+    private static final int VERSION = 1;
+    
+    /**
+     * A new segment file is started once one would go
+     * past this, or a quarter of the budget if that is
+     * less, so deleting the oldest frees a useful
+     * amount. A MappedByteBuffer can't be more than
+     * 2GB anyway.
+     */
+    private static final long SEGMENT_SIZE = 256L << 20;
+    
+    /**
+     * The directory the files are in
+     */
+    private final File directory;
+    
+    /**
+     * The most bytes the segment files may take
+     */
+    private volatile long budget;
+    
+    /**
+     * The index file, and the lock on it that lets
+     * this TileStore write. The lock is null if it is
+     * read only.
+     */
+    private final RandomAccessFile index;
+    private final FileLock         lock;
+    
+    /**
+     * The segment files, oldest first. Only the last
+     * one is written to.
+     */
+    private final ArrayList<Segment> segments = new ArrayList<Segment>();
+    
+    /**
+     * Where each tile is, by TileCache.Key.toString()
+     */
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    
+    /**
+     * Tiles waiting to be written, so the same one
+     * isn't queued twice
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * Writes the tiles, one at a time
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor
+    (
+        new ThreadFactory()
+        {
+            public Thread newThread(Runnable r)
+            {
+                Thread t = new Thread(r, "TileStore");
+                t.setDaemon(true);
+                
+                return t;
+            }
+        }
+    );
+    
+    /**
+     * The number of times get() found a tile, and the
+     * number of times it didn't
+     */
+    private final AtomicLong hits   = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    /**
+     * TileStore
+     * 
+     * Opens the store in a directory, creating it if
+     * it isn't there
+     * 
+     * @param directory The directory
+     * @param budget    The most bytes the tiles may take
+     * @throws IOException If it can't be read, or isn't a TileStore
+     */
+    public TileStore(File directory, long budget) throws IOException
+    {
+        this.directory = directory;
+        this.budget    = budget;
+        
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("Can't create " + directory);
+        }
+        
+        index = new RandomAccessFile(new File(directory, "tiles.idx"), "rw");
+        lock  = tryLock(index.getChannel());
+        
+        if (index.length() == 0 && lock != null)
+        {
+            index.writeInt(MAGIC);
+            index.writeInt(VERSION);
+        }
+        
+        findSegments();
+        
+        int dropped = readIndex();
+        
+        if (segments.isEmpty() && lock != null)
+        {
+            segments.add(new Segment(0));
+        }
+        
+        //The budget may be lower than last time, and an
+        //older version never deleted anything
+        if (lock != null && (evict() || dropped > 0))
+        {
+            rewriteIndex();
+        }
+    }
+    
+    /**
+     * tryLock
+     * 
+     * @param channel The index file
+     * @return The lock, or null if something else has it
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException
+    {
+        try
+        {
+            return channel.tryLock();
+        }
+        //This program already has it open
+        catch (OverlappingFileLockException e)
+        {
+            return null;
+        }
+    }
+    
+    /**
+     * findSegments
+     * 
+     * Opens every segment file in the directory, in
+     * order. They are looked for, rather than taken
+     * from the index, so ones the index lost in a
+     * crash still count towards the budget.
+     */
+    private void findSegments() throws IOException
+    {
+        String[] names   = directory.list();
+        int[]    numbers = new int[names == null ? 0 : names.length];
+        int      found   = 0;
+        
+        for (int i = 0; i < numbers.length; i++)
+        {
+            if (names[i].matches("tiles-\\d{1,9}\\.dat"))
+            {
+                numbers[found++] = Integer.parseInt(names[i].substring(6, names[i].length() - 4));
+            }
+        }
+        
+        Arrays.sort(numbers, 0, found);
+        
+        for (int i = 0; i < found; i++)
+        {
+            segments.add(new Segment(numbers[i]));
+        }
+    }
+    
+    /**
+     * getSegment
+     * 
+     * @param number Which segment
+     * @return The segment, or null if it has been deleted
+     */
+    private Segment getSegment(int number)
+    {
+        for (Segment segment : segments)
+        {
+            if (segment.number == number) return segment;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * readIndex
+     * 
+     * Reads where every tile is. A record cut short
+     * by a crash ends the index there, and is written
+     * over by the next tile.
+     * 
+     * @return The number of records for deleted segments
+     */
+    private int readIndex() throws IOException
+    {
+        byte[] bytes = new byte[(int)index.length()];
+        
+        index.seek(0);
+        index.readFully(bytes);
+        
+        ByteArrayInputStream buffer  = new ByteArrayInputStream(bytes);
+        DataInputStream      in      = new DataInputStream(buffer);
+        long                 end     = 8;
+        int                  dropped = 0;
+        
+        if (bytes.length < 8 || in.readInt() != MAGIC || in.readInt() != VERSION)
+        {
+            throw new IOException(directory + " isn't a TileStore");
+        }
+        
+        try
+        {
+            while (true)
+            {
+                String key    = in.readUTF();
+                int    number = in.readInt();
+                long   offset = in.readLong();
+                int    length = in.readInt();
+                byte   smooth = in.readByte();
+                
+                Segment segment = getSegment(number);
+                
+                if (segment == null)
+                {
+                    dropped++;
+                }
+                else
+                {
+                    Entry entry = new Entry(segment, offset, length, smooth != 0);
+                    
+                    //The data is written first, so this only happens
+                    //if the segment files were tampered with
+                    if (offset + entry.getBytes() > segment.size) break;
+                    
+                    entries.put(key, entry);
+                }
+                
+                end = bytes.length - buffer.available();
+            }
+        }
+        catch (EOFException e)
+        {
+            //That's all of them
+        }
+        
+        index.seek(end);
+        
+        if (lock != null)
+        {
+            index.setLength(end);
+        }
+        
+        return dropped;
+    }
+    
+    /**
+     * get
+     * 
+     * @param key Which tile
+     * @return The tile, or null if it isn't stored
+     */
+    public TileCache.Tile get(TileCache.Key key)
+    {
+        Entry entry = entries.get(key.toString());
+        
+        if (entry == null)
+        {
+            misses.incrementAndGet();
+            return null;
+        }
+        
+        try
+        {
+            TileCache.Tile tile = entry.read();
+            
+            hits.incrementAndGet();
+            return tile;
+        }
+        catch (IOException e)
+        {
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+    
+    /**
+     * put
+     * 
+     * Queues a tile to be written, unless it is
+     * already stored or this TileStore is read only
+     * 
+     * @param key  Which tile
+     * @param tile Its iteration counts
+     */
+    public void put(TileCache.Key key, final TileCache.Tile tile)
+    {
+        final String name = key.toString();
+        
+        if (lock == null || entries.containsKey(name) || !pending.add(name)) return;
+        
+        writer.execute
+        (
+            new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        write(name, tile);
+                    }
+                    catch (IOException e)
+                    {
+                        System.err.println("Couldn't store a tile: " + e);
+                    }
+                    finally
+                    {
+                        pending.remove(name);
+                    }
+                }
+            }
+        );
+    }
+    
+    /**
+     * write
+     * 
+     * Appends a tile to the last segment, starting a
+     * new one if it is full, then adds it to the
+     * index. Old segments are deleted if that takes
+     * the store over its budget. Only called by the
+     * writer thread.
+     * 
+     * @param name Its key
+     * @param tile Its iteration counts
+     */
+    private void write(String name, TileCache.Tile tile) throws IOException
+    {
+        int[]   counts = tile.getCounts();
+        float[] smooth = tile.getSmooth();
+        Segment last   = segments.get(segments.size() - 1);
+        Entry   entry  = new Entry(last, last.size, counts.length, smooth != null);
+        
+        if (last.size > 0 && last.size + entry.getBytes() > Math.min(SEGMENT_SIZE, budget / 4))
+        {
+            synchronized (segments)
+            {
+                last = new Segment(last.number + 1);
+                segments.add(last);
+            }
+            
+            entry = new Entry(last, 0, counts.length, smooth != null);
+        }
+        
+        ByteBuffer data = ByteBuffer.allocate((int)entry.getBytes());
+        data.asIntBuffer().put(counts);
+        
+        if (smooth != null)
+        {
+            data.position(4 * counts.length);
+            data.asFloatBuffer().put(smooth);
+        }
+        
+        last.append(data);
+        
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        
+        writeRecord(new DataOutputStream(record), name, entry);
+        
+        index.write(record.toByteArray());
+        entries.put(name, entry);
+        
+        if (evict())
+        {
+            rewriteIndex();
+        }
+    }
+    
+    /**
+     * writeRecord
+     * 
+     * @param out   Where to write it
+     * @param name  The tile's key
+     * @param entry Where the tile is
+     */
+    private static void writeRecord(DataOutputStream out, String name, Entry entry) throws IOException
+    {
+        out.writeUTF(name);
+        out.writeInt(entry.segment.number);
+        out.writeLong(entry.offset);
+        out.writeInt(entry.length);
+        out.writeByte(entry.smooth ? 1 : 0);
+    }
+    
+    /**
+     * evict
+     * 
+     * Deletes the oldest segments, and forgets their
+     * tiles, until the rest fit in the budget. The one
+     * being written to is always kept. Tiles already
+     * being read from a deleted one are still read,
+     * or else are misses.
+     * 
+     * @return true if any were deleted
+     */
+    private boolean evict()
+    {
+        boolean deleted = false;
+        
+        while (getBytes() > budget && segments.size() > 1)
+        {
+            Segment oldest;
+            
+            synchronized (segments)
+            {
+                oldest = segments.remove(0);
+            }
+            
+            Iterator<Entry> it = entries.values().iterator();
+            
+            while (it.hasNext())
+            {
+                if (it.next().segment == oldest)
+                {
+                    it.remove();
+                }
+            }
+            
+            try
+            {
+                oldest.close();
+            }
+            catch (IOException e)
+            {
+                //It's being deleted anyway
+            }
+            
+            //On Windows this fails while it is mapped, and it
+            //is found and deleted again next time
+            oldest.file.delete();
+            deleted = true;
+        }
+        
+        return deleted;
+    }
+    
+    /**
+     * rewriteIndex
+     * 
+     * Writes the index again, with only the tiles
+     * that are left. It is cut back to its header
+     * first, so a crash part way through loses tiles,
+     * but never points one at the wrong data.
+     */
+    private void rewriteIndex() throws IOException
+    {
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream      out     = new DataOutputStream(records);
+        
+        for (String name : entries.keySet())
+        {
+            writeRecord(out, name, entries.get(name));
+        }
+        
+        index.setLength(8);
+        index.seek(8);
+        index.write(records.toByteArray());
+    }
+    
+    /**
+     * setBudget
+     * 
+     * Changes the most bytes the tiles may take. Old
+     * segments are deleted straight away if they are
+     * over it, once the queued tiles are written.
+     * 
+     * @param budget The number of bytes
+     */
+    public void setBudget(long budget)
+    {
+        this.budget = budget;
+        
+        if (lock == null) return;
+        
+        writer.execute
+        (
+            new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        if (evict())
+                        {
+                            rewriteIndex();
+                        }
+                    }
+                    catch (IOException e)
+                    {
+                        System.err.println("Couldn't rewrite the tile index: " + e);
+                    }
+                }
+            }
+        );
+    }
+    
+    /**
+     * getBudget
+     * 
+     * Returns the most bytes the segment files may
+     * take before the oldest are deleted
+     * 
+     * @return The budget, in bytes
+     * @see   setBudget
+     */
+    public long getBudget()
+    {
+        return budget;
+    }
+    
+    /**
+     * getBytes
+     * 
+     * @return The size of the segment files
+     */
+    public long getBytes()
+    {
+        long size = 0;
+        
+        synchronized (segments)
+        {
+            for (Segment segment : segments)
+            {
+                size += segment.size;
+            }
+        }
+        
+        return size;
+    }
+    
+    /**
+     * flush
+     * 
+     * Waits for every queued tile to be written
+     */
+    public void flush()
+    {
+        Future<?> done = writer.submit(new Runnable() { public void run() {} });
+        
+        try
+        {
+            done.get();
+        }
+        catch (Exception e)
+        {
+            //Nothing more can be done
+        }
+    }
+    
+    /**
+     * close
+     * 
+     * Writes the queued tiles, then closes the files
+     */
+    public void close() throws IOException
+    {
+        flush();
+        writer.shutdown();
+        
+        for (Segment segment : segments)
+        {
+            segment.close();
+        }
+        
+        if (lock != null)
+        {
+            lock.release();
+        }
+        
+        index.close();
+    }
+    
+    /**
+     * getTiles
+     * 
+     * Returns the number of tiles in the index
+     * 
+     * @return The number of tiles
+     */
+    public int getTiles()
+    {
+        return entries.size();
+    }
+    
+    /**
+     * getHits
+     * 
+     * Returns the number of times get() found a tile
+     * since the store was opened
+     * 
+     * @return The number of hits
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+    
+    /**
+     * getMisses
+     * 
+     * Returns the number of times get() didn't find
+     * a tile since the store was opened
+     * 
+     * @return The number of misses
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+    
+    /**
+     * isReadOnly
+     * 
+     * Returns true if something else already had the
+     * store open, so this one only reads tiles from it
+     * 
+     * @return true if put() does nothing
+     */
+    public boolean isReadOnly()
+    {
+        return lock == null;
+    }
+    
+    /**
+     * toString
+     * 
+     * @return The hits, misses and size, for logging
+     */
+    public String toString()
+    {
+        return String.format
+        (
+            "%d hits, %d misses, %d tiles, %d of %d KB in %d segments%s",
+            hits.get(), misses.get(), entries.size(), getBytes() / 1024, budget / 1024,
+            segments.size(), lock == null ? " (read only)" : ""
+        );
+    }
+    
+    /**
+     * Segment
+     * 
+     * One of the files the tiles are appended to, and
+     * a read only map of it. The map is made again
+     * when a tile past its end is wanted.
+     * 
+     * @author Emily Shepherd
+     */
+    private class Segment
+    {
+        private final int         number;
+        private final File        file;
+        private final FileChannel channel;
+        private volatile long     size;
+        private MappedByteBuffer  map;
+        
+        /**
+         * Segment
+         * 
+         * @param number Which segment, from 0
+         */
+        public Segment(int number) throws IOException
+        {
+            this.number  = number;
+            this.file    = new File(directory, "tiles-" + number + ".dat");
+            this.channel = lock != null
+                ? FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.size    = channel.size();
+        }
+        
+        /**
+         * getMap
+         * 
+         * @param end How far into the file is needed
+         * @return A map of at least that much of it
+         */
+        public synchronized ByteBuffer getMap(long end) throws IOException
+        {
+            if (map == null || map.capacity() < end)
+            {
+                map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            
+            //Each reader gets its own position
+            return map.duplicate();
+        }
+        
+        /**
+         * append
+         * 
+         * @param data What to add to the end
+         */
+        public void append(ByteBuffer data) throws IOException
+        {
+            data.rewind();
+            
+            while (data.hasRemaining())
+            {
+                channel.write(data, size + data.position());
+            }
+            
+            size += data.capacity();
+        }
+        
+        public void close() throws IOException
+        {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Entry
+     * 
+     * Where one tile is
+     * 
+     * @author Emily Shepherd
+     */
+    private static class Entry
+    {
+        private final Segment segment;
+        private final long    offset;
+        private final int     length;
+        private final boolean smooth;
+        
+        /**
+         * Entry
+         * 
+         * @param segment The segment it is in
+         * @param offset  Its first byte in the segment
+         * @param length  The number of pixels
+         * @param smooth  Are there smooth iteration counts too?
+         */
+        public Entry(Segment segment, long offset, int length, boolean smooth)
+        {
+            this.segment = segment;
+            this.offset  = offset;
+            this.length  = length;
+            this.smooth  = smooth;
+        }
+        
+        /**
+         * getBytes
+         * 
+         * @return The size of the tile in the segment
+         */
+        public long getBytes()
+        {
+            return (smooth ? 8L : 4L) * length;
+        }
+        
+        /**
+         * read
+         * 
+         * @return The tile, read from the segment's map
+         */
+        public TileCache.Tile read() throws IOException
+        {
+            ByteBuffer map    = segment.getMap(offset + getBytes());
+            int[]      counts = new int[length];
+            float[]    values = smooth ? new float[length] : null;
+            
+            map.position((int)offset);
+            map.asIntBuffer().get(counts);
+            
+            if (smooth)
+            {
+                map.position((int)offset + 4 * length);
+                map.asFloatBuffer().get(values);
+            }
+            
+            return new TileCache.Tile(counts, values);
+        }
+    }
+}
+
+/**
+ * Engine
+ * 
+ * Works out the number of iterations for runs of
+ * pixels along a row. Each RenderJob makes its own,
+ * so an Engine can keep whatever it needs about the
+ * View, but it will be used by several threads at
+ * once.
+ * 
+ * @author Emily Shepherd
+ */
+interface Engine
+{
+    /**
+     * calculateRow
+     * 
+     * Calculates count pixels of row y, starting at
+     * column x and moving step columns each time
+     * 
+     * @param x      The x coordinate of the first pixel
+     * @param y      The y coordinate of the row
+     * @param step   The gap between pixels
+     * @param count  The number of pixels
+     * @param tests  Where to put the number of iterations for each
+     * @param smooth Where to put the smooth iteration count of
+     *               each that escapes, or null if not wanted
+     * @param offset Where in tests and smooth the first one goes
+     * @see   View.smooth
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset);
+}
+
+/**
+ * ScalarEngine
+ * 
+ * The plain Engine, which runs the checker's
+ * calculate() on one pixel at a time
+ * 
+ * @author Emily Shepherd
+ */
+class ScalarEngine implements Engine
+{
+    /**
+     * The checker whose calculate() is used
+     */
+    private AlgorithmChecker checker;
+    
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * ScalarEngine
+     * 
+     * @param checker The checker whose calculate() is used
+     * @param view    What is being drawn
+     */
+    public ScalarEngine(AlgorithmChecker checker, View view)
+    {
+        this.checker  = checker;
+        this.view     = view;
+        this.absolute = checker.absoluteParts();
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        double axisY = view.getAxisY(y);
+        
+        for (int i = 0; i < count; i++)
+        {
+            double axisX = view.getAxisX(x + i * step);
+            
+            if (view.isJulia())
+            {
+                tests[offset + i] = checker.calculate
+                (
+                    axisX, axisY, view.getSeedReal(), view.getSeedImaginary()
+                );
+            }
+            else
+            {
+                tests[offset + i] = checker.calculate(axisX, axisY, axisX, axisY);
+            }
+            
+            if (smooth != null && tests[offset + i] < view.getIterations())
+            {
+                smooth[offset + i] = smooth(x + i * step, y, tests[offset + i]);
+            }
+        }
+    }
+    
+    /**
+     * smooth
+     * 
+     * calculate() only gives the number of iterations,
+     * so this follows a pixel that escaped again to
+     * find z. It does the same sums in the same order,
+     * so it gets the same z, and only escaped pixels
+     * (usually the quick ones) are done twice.
+     * 
+     * @param x     The x coordinate of the pixel
+     * @param y     The y coordinate of the pixel
+     * @param tests The iteration it escaped at
+     * @return The smooth iteration count
+     * @see   View.smooth
+     */
+    public float smooth(int x, int y, int tests)
+    {
+        double zr = view.getAxisX(x);
+        double zi = view.getAxisY(y);
+        double cr = view.isJulia() ? view.getSeedReal()      : zr;
+        double ci = view.isJulia() ? view.getSeedImaginary() : zi;
+        
+        for (int i = 0; i < tests; i++)
+        {
+            if (absolute)
+            {
+                zr = Math.abs(zr);
+                zi = Math.abs(zi);
+            }
+            
+            double newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+        }
+        
+        return view.smooth(tests, zr, zi, cr, ci, absolute);
+    }
+}
+
+/**
+ * ResumeEngine
+ * 
+ * An Engine that remembers where each pixel got to.
+ * When the same view is drawn again with more
+ * iterations, pixels that had escaped are copied,
+ * and pixels that ran out of iterations carry on
+ * from the z they stopped at. Raising the iterations
+ * then only costs the extra ones.
+ * 
+ * It works one pixel at a time with doubles, doing
+ * the same sums as the checkers' calculate(), so the
+ * results are identical to ScalarEngine's. The z of
+ * every pixel is kept, which is 16 bytes a pixel.
+ * 
+ * @see AlgorithmChecker.setResumable
+ * @author Emily Shepherd
+ */
+class ResumeEngine implements Engine
+{
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * If false, the cardioid, bulb and cycle checks
+     * are skipped
+     * 
+     * @see AlgorithmChecker.shortcuts
+     */
+    private boolean shortcuts;
+    
+    /**
+     * Where each pixel stopped, by y * width + x.
+     * NaN if it hasn't been calculated, or escaped,
+     * and infinite if it was proven never to escape.
+     */
+    private double[] real;
+    private double[] imaginary;
+    
+    /**
+     * The same for the image being resumed, along with
+     * its iterations and results. All null if there
+     * isn't one.
+     */
+    private double[] previousReal;
+    private double[] previousImaginary;
+    private int[]    previousTests;
+    private float[]  previousSmooth;
+    private int      previousIterations;
+    
+    /**
+     * ResumeEngine
+     * 
+     * @param checker The checker being drawn
+     * @param view    What is being drawn
+     */
+    public ResumeEngine(AlgorithmChecker checker, View view)
+    {
+        this.view      = view;
+        this.absolute  = checker.absoluteParts();
+        this.shortcuts = checker.shortcuts();
+        
+        real      = new double[view.getWidth() * view.getHeight()];
+        imaginary = new double[view.getWidth() * view.getHeight()];
+        
+        Arrays.fill(real, Double.NaN);
+    }
+    
+    /**
+     * resumeFrom
+     * 
+     * Carries on from an earlier image. It must have
+     * the same pixels, no more iterations, and have
+     * been coloured smoothly only if this is.
+     * 
+     * @param previous The earlier image's ResumeEngine
+     * @param tests    Its number of iterations for each pixel
+     * @param smooth   Its smooth counts, or null
+     * @see   View.samePixels
+     */
+    public void resumeFrom(ResumeEngine previous, int[] tests, float[] smooth)
+    {
+        previousReal       = previous.real;
+        previousImaginary  = previous.imaginary;
+        previousIterations = previous.view.getIterations();
+        previousTests      = tests;
+        previousSmooth     = smooth;
+    }
+    
+    /**
+     * forgetPrevious
+     * 
+     * Lets go of the earlier image, once every pixel
+     * has been done
+     */
+    public void forgetPrevious()
+    {
+        previousReal      = null;
+        previousImaginary = null;
+        previousTests     = null;
+        previousSmooth    = null;
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        int      width    = view.getWidth();
+        double   axisY    = view.getAxisY(y);
+        int[]    previous = previousTests;
+        
+        for (int i = 0; i < count; i++)
+        {
+            int    column = x + i * step;
+            int    pixel  = y * width + column;
+            double axisX  = view.getAxisX(column);
+            double zr     = axisX;
+            double zi     = axisY;
+            double cr     = view.isJulia() ? view.getSeedReal()      : axisX;
+            double ci     = view.isJulia() ? view.getSeedImaginary() : axisY;
+            int    start  = 1;
+            
+            if (previous != null)
+            {
+                int before = previous[pixel];
+                
+                //View.smooth() caps smooth counts at iterations - 1,
+                //so ones at the old cap have to be worked out again
+                if (before < previousIterations
+                    && (smooth == null || previousSmooth[pixel] < previousIterations - 1))
+                {
+                    tests[offset + i] = before;
+                    
+                    if (smooth != null)
+                    {
+                        smooth[offset + i] = previousSmooth[pixel];
+                    }
+                    
+                    continue;
+                }
+                
+                if (previousReal[pixel] == Double.POSITIVE_INFINITY)
+                {
+                    tests[offset + i] = view.getIterations();
+                    real[pixel]       = Double.POSITIVE_INFINITY;
+                    
+                    continue;
+                }
+                
+                //Pixels filled in by subdivision were never
+                //calculated, and capped ones escaped, so have to
+                //start again
+                if (!Double.isNaN(previousReal[pixel]))
+                {
+                    zr    = previousReal[pixel];
+                    zi    = previousImaginary[pixel];
+                    start = previousIterations;
+                }
+            }
+            
+            if (absolute)
+            {
+                tests[offset + i] = calculateAbsolute(zr, zi, cr, ci, start, pixel, smooth, offset + i);
+            }
+            else
+            {
+                tests[offset + i] = calculateSquare(zr, zi, cr, ci, start, pixel, smooth, offset + i);
+            }
+        }
+    }
+    
+    /**
+     * calculateSquare
+     * 
+     * The Mandelbrot set, with the same shortcuts as
+     * MandelbrotChecker. Saves z if it runs out of
+     * iterations.
+     * 
+     * @param zr     The real part of z
+     * @param zi     The imaginary part of z
+     * @param cr     The real part of c
+     * @param ci     The imaginary part of c
+     * @param start  The iteration to start at, 1 for a new pixel
+     * @param pixel  Where in real and imaginary z goes
+     * @param smooth Where to put the smooth count, or null
+     * @param index  Where in smooth it goes
+     * @return The number of iterations required for divergence
+     * @see   MandelbrotChecker.calculate
+     */
+    private int calculateSquare(double zr, double zi, double cr, double ci, int start, int pixel, float[] smooth, int index)
+    {
+        int iterations = view.getIterations();
+        
+        if (shortcuts && start == 1 && !view.isJulia()
+            && (MandelbrotChecker.inCardioid(cr, ci) || MandelbrotChecker.inBulb(cr, ci)))
+        {
+            real[pixel] = Double.POSITIVE_INFINITY;
+            return iterations;
+        }
+        
+        double savedReal      = zr;
+        double savedImaginary = zi;
+        int    sinceSaved     = 0;
+        int    saveEvery      = 1;
+        
+        for (int i = start; i < iterations; i++)
+        {
+            double newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                if (smooth != null)
+                {
+                    smooth[index] = view.smooth(i, zr, zi, cr, ci, false);
+                }
+                
+                return i;
+            }
+            
+            if (shortcuts && zr == savedReal && zi == savedImaginary)
+            {
+                real[pixel] = Double.POSITIVE_INFINITY;
+                return iterations;
+            }
+            
+            if (++sinceSaved == saveEvery)
+            {
+                savedReal      = zr;
+                savedImaginary = zi;
+                sinceSaved     = 0;
+                saveEvery     *= 2;
+            }
+        }
+        
+        real[pixel]      = zr;
+        imaginary[pixel] = zi;
+        
+        return iterations;
+    }
+    
+    /**
+     * calculateAbsolute
+     * 
+     * The Burning Ship
+     * 
+     * @see calculateSquare
+     * @see BurningShipChecker.calculate
+     */
+    private int calculateAbsolute(double zr, double zi, double cr, double ci, int start, int pixel, float[] smooth, int index)
+    {
+        int iterations = view.getIterations();
+        
+        for (int i = start; i < iterations; i++)
+        {
+            zr = Math.abs(zr);
+            zi = Math.abs(zi);
+            
+            double newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                if (smooth != null)
+                {
+                    smooth[index] = view.smooth(i, zr, zi, cr, ci, true);
+                }
+                
+                return i;
+            }
+        }
+        
+        real[pixel]      = zr;
+        imaginary[pixel] = zi;
+        
+        return iterations;
+    }
+}
+
+/**
+ * FloatEngine
+ * 
+ * An Engine that uses floats instead of doubles.
+ * That's only about 7 significant digits, so it is
+ * meant for small or quick images where a few
+ * pixels coming out different doesn't matter.
+ * 
+ * @author Emily Shepherd
+ */
+class FloatEngine implements Engine
+{
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * If false, the cardioid, bulb and cycle checks
+     * are skipped
+     * 
+     * @see AlgorithmChecker.shortcuts
+     */
+    private boolean shortcuts;
+    
+    /**
+     * FloatEngine
+     * 
+     * @param checker The checker being drawn
+     * @param view    What is being drawn
+     */
+    public FloatEngine(AlgorithmChecker checker, View view)
+    {
+        this.view      = view;
+        this.absolute  = checker.absoluteParts();
+        this.shortcuts = checker.shortcuts();
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        float axisY = (float)view.getAxisY(y);
+        float seedR = (float)view.getSeedReal();
+        float seedI = (float)view.getSeedImaginary();
+        
+        for (int i = 0; i < count; i++)
+        {
+            float axisX = (float)view.getAxisX(x + i * step);
+            
+            if (view.isJulia())
+            {
+                tests[offset + i] = calculate(axisX, axisY, seedR, seedI);
+            }
+            else
+            {
+                tests[offset + i] = calculate(axisX, axisY, axisX, axisY);
+            }
+            
+            if (smooth != null && tests[offset + i] < view.getIterations())
+            {
+                smooth[offset + i] = smooth(x + i * step, y, tests[offset + i]);
+            }
+        }
+    }
+    
+    /**
+     * smooth
+     * 
+     * Follows a pixel that escaped again, with the
+     * same float sums as calculate(), to find z
+     * 
+     * @param x     The x coordinate of the pixel
+     * @param y     The y coordinate of the pixel
+     * @param tests The iteration it escaped at
+     * @return The smooth iteration count
+     * @see   ScalarEngine.smooth
+     */
+    public float smooth(int x, int y, int tests)
+    {
+        float zr = (float)view.getAxisX(x);
+        float zi = (float)view.getAxisY(y);
+        float cr = view.isJulia() ? (float)view.getSeedReal()      : zr;
+        float ci = view.isJulia() ? (float)view.getSeedImaginary() : zi;
+        
+        for (int i = 0; i < tests; i++)
+        {
+            if (absolute)
+            {
+                zr = Math.abs(zr);
+                zi = Math.abs(zi);
+            }
+            
+            float newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+        }
+        
+        return view.smooth(tests, zr, zi, cr, ci, absolute);
+    }
+    
+    /**
+     * calculate
+     * 
+     * Picks the loop for this fractal
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculate(float zr, float zi, float cr, float ci)
+    {
+        if (absolute)
+        {
+            return calculateAbsolute(zr, zi, cr, ci);
+        }
+        
+        return calculateSquare(zr, zi, cr, ci);
+    }
+    
+    /**
+     * calculateSquare
+     * 
+     * The Mandelbrot set, with the same cycle
+     * detection as MandelbrotChecker. Floats fall into
+     * exact cycles much sooner than doubles, so this
+     * catches most points inside the set quickly.
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculateSquare(float zr, float zi, float cr, float ci)
+    {
+        int iterations = view.getIterations();
+        
+        float savedReal      = zr;
+        float savedImaginary = zi;
+        int   sinceSaved     = 0;
+        int   saveEvery      = 1;
+        
+        for (int i = 1; i < iterations; i++)
+        {
+            float newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                return i;
+            }
+            
+            if (shortcuts && zr == savedReal && zi == savedImaginary)
+            {
+                return iterations;
+            }
+            
+            if (++sinceSaved == saveEvery)
+            {
+                savedReal      = zr;
+                savedImaginary = zi;
+                sinceSaved     = 0;
+                saveEvery     *= 2;
+            }
+        }
+        
+        return iterations;
+    }
+    
+    /**
+     * calculateAbsolute
+     * 
+     * The Burning Ship
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculateAbsolute(float zr, float zi, float cr, float ci)
+    {
+        int iterations = view.getIterations();
+        
+        for (int i = 1; i < iterations; i++)
+        {
+            zr = Math.abs(zr);
+            zi = Math.abs(zi);
+            
+            float newReal = zr*zr - zi*zi;
+            
+            zi = 2 * zr * zi + ci;
+            zr = newReal     + cr;
+            
+            if (zr*zr + zi*zi > 4)
+            {
+                return i;
+            }
+        }
+        
+        return iterations;
+    }
+}
+
+/**
+ * Precision
+ * 
+ * The number types the Engines calculate with,
+ * from the cheapest to the most precise
+ * 
+ * @see AlgorithmChecker.choosePrecision
+ * @author Emily Shepherd
+ */
+enum Precision
+{
+    /**
+     * floats, for small quick images
+     * 
+     * @see FloatEngine
+     */
+    FLOAT(24),
+    
+    /**
+     * doubles, with ScalarEngine or VectorEngine
+     */
+    DOUBLE(53),
+    
+    /**
+     * Pairs of doubles, down to about 1e-28
+     * 
+     * @see DoubleDoubleEngine
+     */
+    DOUBLE_DOUBLE(106),
+    
+    /**
+     * A BigDecimal reference with differences in
+     * doubles, for anything deeper
+     * 
+     * @see PerturbationEngine
+     */
+    PERTURBATION(Integer.MAX_VALUE);
+    
+    /**
+     * The number of bits in the mantissa
+     */
+    private int bits;
+    
+    /**
+     * Precision
+     * 
+     * @param bits The number of bits in the mantissa
+     */
+    private Precision(int bits)
+    {
+        this.bits = bits;
+    }
+    
+    /**
+     * getBits
+     * 
+     * @return The number of bits in the mantissa, or
+     *         Integer.MAX_VALUE if there is no limit
+     */
+    public int getBits()
+    {
+        return bits;
+    }
+}
+
+/**
+ * View
+ * 
+ * A copy of everything an Engine needs to know
+ * about the image being drawn, taken when the
+ * RenderJob starts so it can't change under it
+ * 
+ * @author Emily Shepherd
+ */
+class View
+{
+    /**
+     * If the gap between pixels is less than this
+     * many ulps of the axis values, the image is too
+     * deep for that number type
+     * 
+     * @see isDeeperThan
+     */
+    private static final double DEEP_ULPS = 65536;
+    
+    /**
+     * |z| squared must be past this before the smooth
+     * iteration count is worked out. The bigger it
+     * is, the less the colours band.
+     * 
+     * @see smooth
+     */
+    private static final double SMOOTH_RADIUS = 65536;
+    
+    /**
+     * How far, in pixels, a moved or zoomed View's
+     * pixels can be from the old ones and still count
+     * as the same points. Tiles with pixels copied
+     * like this aren't cached.
+     * 
+     * @see offsetFrom
+     */
+    private static final double SHIFT_TOLERANCE = 0.001;
+    
+    /**
+     * The axis values of the top left pixel of the
+     * whole image, and how they change as you advance
+     * by one pixel
+     */
+    private double axisXMin;
+    private double axisYMax;
+    private double axisXStep;
+    private double axisYStep;
+    
+    /**
+     * The exact axis values of this View's top left
+     * pixel
+     */
+    private BigDecimal exactXMin;
+    private BigDecimal exactYMax;
+    
+    /**
+     * The size of the image
+     */
+    private int width;
+    private int height;
+    
+    /**
+     * Which row of the whole image this View's first
+     * row is, when only a band of it is drawn
+     * 
+     * @see AlgorithmChecker.setBand
+     */
+    private int firstRow;
+    
+    /**
+     * Number of iterations to perform
+     */
+    private int iterations;
+    
+    /**
+     * Is this a Julia set, and if so its seed
+     */
+    private boolean julia;
+    private double  seedReal;
+    private double  seedImaginary;
+    
+    /**
+     * View
+     * 
+     * @param axisXMin   The x axis value of the left column
+     * @param axisYMax   The y axis value of the top row
+     * @param axisXStep  The x axis change per pixel
+     * @param axisYStep  The y axis change per pixel
+     * @param width      The width of the image
+     * @param height     The height of the image
+     * @param iterations The number of iterations
+     * @param seed       The Julia seed, or null if this isn't a Julia set
+     */
+    public View(BigDecimal axisXMin, BigDecimal axisYMax, double axisXStep, double axisYStep, int width, int height, int iterations, ComplexNumber seed)
+    {
+        this(axisXMin, axisYMax, axisXStep, axisYStep, width, height, 0, iterations, seed);
+    }
+    
+    /**
+     * View
+     * 
+     * A band of rows from a taller image. The rows'
+     * axis values are worked out from the whole
+     * image's top row, so they round the same way as
+     * when it is drawn in one go.
+     * 
+     * @param axisXMin   The x axis value of the left column
+     * @param axisYMax   The y axis value of the whole image's top row
+     * @param axisXStep  The x axis change per pixel
+     * @param axisYStep  The y axis change per pixel
+     * @param width      The width of the image
+     * @param height     The number of rows in the band
+     * @param firstRow   The band's first row in the whole image
+     * @param iterations The number of iterations
+     * @param seed       The Julia seed, or null if this isn't a Julia set
+     */
+    public View(BigDecimal axisXMin, BigDecimal axisYMax, double axisXStep, double axisYStep, int width, int height, int firstRow, int iterations, ComplexNumber seed)
+    {
+        this.exactXMin  = axisXMin;
+        this.exactYMax  = axisYMax;
+        this.axisXMin   = axisXMin.doubleValue();
+        this.axisYMax   = axisYMax.doubleValue();
+        this.axisXStep  = axisXStep;
+        this.axisYStep  = axisYStep;
+        this.width      = width;
+        this.height     = height;
+        this.firstRow   = firstRow;
+        this.iterations = iterations;
+        
+        //Exactly where the band's first row is, for the
+        //Engines that need more than a double
+        if (firstRow != 0)
+        {
+            exactYMax = axisYMax.subtract
+            (
+                new BigDecimal(axisYStep).multiply(BigDecimal.valueOf(firstRow))
+            );
+        }
+        
+        if (seed != null)
+        {
+            julia         = true;
+            seedReal      = seed.getReal();
+            seedImaginary = seed.getImaginary();
+        }
+    }
+    
+    /**
+     * getAxisX
+     * 
+     * @param x The x coordinate of a pixel
+     * @return The x axis value of that column
+     */
+    public double getAxisX(int x)
+    {
+        return axisXMin + x * axisXStep;
+    }
+    
+    /**
+     * getAxisY
+     * 
+     * Minus because pixel y values are in reverse
+     * order to the axis
+     * 
+     * @param y The y coordinate of a pixel
+     * @return The y axis value of that row
+     */
+    public double getAxisY(int y)
+    {
+        return axisYMax - (firstRow + y) * axisYStep;
+    }
+    
+    /**
+     * isDeeperThan
+     * 
+     * Returns true if neighbouring pixels are so
+     * close together that a number type with this
+     * many bits in its mantissa can barely tell them
+     * apart, so it would come out blocky
+     * 
+     * @param bits The number of bits
+     * @return true if the image needs more bits than that
+     * @see   Precision.getBits
+     */
+    public boolean isDeeperThan(int bits)
+    {
+        double largest = Math.max
+        (
+            Math.max(Math.abs(axisXMin), Math.abs(getAxisX(width))),
+            Math.max(Math.abs(getAxisY(0)), Math.abs(getAxisY(height)))
+        );
+        
+        //ulp() is for a double, so scale it to the other type
+        double ulp = Math.scalb(Math.ulp(largest), Precision.DOUBLE.getBits() - bits);
+        
+        return Math.min(axisXStep, axisYStep) < ulp * DEEP_ULPS;
+    }
+    
+    /**
+     * samePixels
+     * 
+     * Returns true if every pixel of this View is at
+     * the same point, with the same seed, as other's.
+     * The iterations can be different.
+     * 
+     * @param other The View to compare this to
+     * @return true if the pixels match
+     */
+    public boolean samePixels(View other)
+    {
+        return exactXMin.compareTo(other.exactXMin) == 0
+            && exactYMax.compareTo(other.exactYMax) == 0
+            && axisXStep     == other.axisXStep
+            && axisYStep     == other.axisYStep
+            && width         == other.width
+            && height        == other.height
+            && julia         == other.julia
+            && seedReal      == other.seedReal
+            && seedImaginary == other.seedImaginary;
+    }
+    
+    /**
+     * offsetFrom
+     * 
+     * Works out whether this View's pixels include
+     * other's: either it is other moved by a whole
+     * number of pixels, or it is zoomed in on other by
+     * a whole number too, so every scale-th pixel is
+     * one of other's. Every pixel has to land within
+     * SHIFT_TOLERANCE of where it should, as typed in
+     * axis values are rarely exact multiples of a
+     * double's step. The iterations can be different.
+     * 
+     * @param other The View to compare this to
+     * @return {dx, dy, scale} where pixel (x, y) of this
+     *         is at pixel ((x + dx) / scale, (y + dy) / scale)
+     *         of other, if those divide exactly. null if
+     *         it is the same, or they share no pixels.
+     */
+    public int[] offsetFrom(View other)
+    {
+        long scale = Math.round(other.axisXStep / axisXStep);
+        
+        if (width != other.width || height != other.height
+            || julia != other.julia
+            || seedReal != other.seedReal || seedImaginary != other.seedImaginary
+            || scale < 1
+            || Math.abs(other.axisXStep / scale - axisXStep) * width  > SHIFT_TOLERANCE * axisXStep
+            || Math.abs(other.axisYStep / scale - axisYStep) * height > SHIFT_TOLERANCE * axisYStep)
+        {
+            return null;
+        }
+        
+        //Subtracted exactly, as the axis values can be far
+        //more precise than the step
+        double x = exactXMin.subtract(other.exactXMin).doubleValue() / axisXStep;
+        double y = other.exactYMax.subtract(exactYMax).doubleValue() / axisYStep;
+        long   dx = Math.round(x);
+        long   dy = Math.round(y);
+        
+        if (Math.abs(x - dx) > SHIFT_TOLERANCE || Math.abs(y - dy) > SHIFT_TOLERANCE
+            || dx <= -width  || dx >= width  * scale
+            || dy <= -height || dy >= height * scale
+            || (dx == 0 && dy == 0 && scale == 1))
+        {
+            return null;
+        }
+        
+        return new int[] {(int)dx, (int)dy, (int)scale};
+    }
+    
+    /**
+     * getExactXMin
+     * 
+     * @return The exact x axis value of the left
+     *         column, for the Engines that need more
+     *         than a double
+     */
+    public BigDecimal getExactXMin()
+    {
+        return exactXMin;
+    }
+    
+    /**
+     * getExactYMax
+     * 
+     * @return The exact y axis value of this View's
+     *         top row, which is the band's first row
+     *         if it is only a band
+     */
+    public BigDecimal getExactYMax()
+    {
+        return exactYMax;
+    }
+    
+    /**
+     * getLow
+     * 
+     * Splits a number into a double-double, which is
+     * the nearest double plus this
+     * 
+     * @param exact The number
+     * @return What is left once exact.doubleValue() is taken off
+     */
+    public static double getLow(BigDecimal exact)
+    {
+        return exact.subtract(new BigDecimal(exact.doubleValue())).doubleValue();
+    }
+    
+    /**
+     * smooth
+     * 
+     * Works out the continuous (smooth) iteration
+     * count of a pixel that escaped. z is iterated a
+     * few more times, until it is well past the
+     * escape radius, and how far past it is gives the
+     * fraction: n + 1 - log2(log2(|z|)).
+     * 
+     * Once z has escaped, doubles are plenty however
+     * deep the zoom, so every Engine can use this.
+     * 
+     * @param tests    The iteration z escaped at
+     * @param zr       The real part of z when it escaped
+     * @param zi       The imaginary part of z when it escaped
+     * @param cr       The real part of c
+     * @param ci       The imaginary part of c
+     * @param absolute Is this the Burning Ship?
+     * @return The smooth count, between 0 and iterations - 1
+     */
+    public float smooth(int tests, double zr, double zi, double cr, double ci, boolean absolute)
+    {
+        double size = zr*zr + zi*zi;
+        
+        //It at least squares each time, so this never takes long
+        for (int i = 0; i < 8 && size < SMOOTH_RADIUS; i++)
+        {
+            if (absolute)
+            {
+                zr = Math.abs(zr);
+                zi = Math.abs(zi);
+            }
+            
+            double newReal = zr*zr - zi*zi;
+            
+            zi   = 2 * zr * zi + ci;
+            zr   = newReal     + cr;
+            size = zr*zr + zi*zi;
+            tests++;
+        }
+        
+        double smooth = tests + 1 - Math.log(Math.log(size) / (2 * Math.log(2))) / Math.log(2);
+        
+        return (float)Math.max(0, Math.min(smooth, iterations - 1));
+    }
+    
+    /**
+     * getAxisXMin
+     * 
+     * @return The x axis value of the left column
+     */
+    public double getAxisXMin()
+    {
+        return axisXMin;
+    }
+    
+    /**
+     * getAxisXStep
+     * 
+     * @return The x axis change per pixel
+     */
+    public double getAxisXStep()
+    {
+        return axisXStep;
+    }
+    
+    /**
+     * getAxisYStep
+     * 
+     * @return How much the y axis value falls for
+     *         each row down the image
+     */
+    public double getAxisYStep()
+    {
+        return axisYStep;
+    }
+    
+    /**
+     * getWidth
+     * 
+     * @return The width of the image
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+    
+    /**
+     * getHeight
+     * 
+     * @return The height of the image, or the number
+     *         of rows in the band
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+    
+    /**
+     * getIterations
+     * 
+     * @return The maximum number of iterations
+     */
+    public int getIterations()
+    {
+        return iterations;
+    }
+    
+    /**
+     * isJulia
+     * 
+     * @return true if this is a Julia set
+     */
+    public boolean isJulia()
+    {
+        return julia;
+    }
+    
+    /**
+     * getSeedReal
+     * 
+     * @return The real part of the Julia seed, 0 if
+     *         this isn't a Julia set
+     */
+    public double getSeedReal()
+    {
+        return seedReal;
+    }
+    
+    /**
+     * getSeedImaginary
+     * 
+     * @return The imaginary part of the Julia seed, 0
+     *         if this isn't a Julia set
+     */
+    public double getSeedImaginary()
+    {
+        return seedImaginary;
+    }
+}
+
+/**
+ * DoubleDoubleEngine
+ * 
+ * Draws zooms a bit too deep for doubles by doing
+ * every sum with double-doubles: pairs of doubles
+ * where the second holds what the first had to
+ * round off. That gives about 32 significant
+ * digits, which is enough down to about 1e-28,
+ * at a fraction of the cost of BigDecimals.
+ * 
+ * Nothing is allocated per pixel, so the pairs are
+ * separate local variables named ...High and
+ * ...Low, and the sums are written out in full.
+ * They rely on Math.fma() for the exact rounding
+ * error of a product.
+ * 
+ * @author Emily Shepherd
+ */
+class DoubleDoubleEngine implements Engine
+{
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * If false, the cardioid, bulb and cycle checks
+     * are skipped
+     * 
+     * @see AlgorithmChecker.shortcuts
+     */
+    private boolean shortcuts;
+    
+    /**
+     * The axis values of the top left pixel, as
+     * double-doubles
+     */
+    private double xMinHigh;
+    private double xMinLow;
+    private double yMaxHigh;
+    private double yMaxLow;
+    
+    /**
+     * DoubleDoubleEngine
+     * 
+     * @param checker The checker being drawn
+     * @param view    What is being drawn
+     */
+    public DoubleDoubleEngine(AlgorithmChecker checker, View view)
+    {
+        this.view      = view;
+        this.absolute  = checker.absoluteParts();
+        this.shortcuts = checker.shortcuts();
+        
+        xMinHigh = view.getExactXMin().doubleValue();
+        xMinLow  = View.getLow(view.getExactXMin());
+        yMaxHigh = view.getExactYMax().doubleValue();
+        yMaxLow  = View.getLow(view.getExactYMax());
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        //yMax - y * yStep. The product is exact as a pair
+        double product = y * view.getAxisYStep();
+        double error   = Math.fma(y, view.getAxisYStep(), -product);
+        double sum     = yMaxHigh - product;
+        double t       = sum - yMaxHigh;
+        double low     = (yMaxHigh - (sum - t)) + (-product - t) + yMaxLow - error;
+        double yHigh   = sum + low;
+        double yLow    = low - (yHigh - sum);
+        
+        for (int i = 0; i < count; i++)
+        {
+            int column = x + i * step;
+            
+            //xMin + column * xStep
+            product = column * view.getAxisXStep();
+            error   = Math.fma(column, view.getAxisXStep(), -product);
+            sum     = xMinHigh + product;
+            t       = sum - xMinHigh;
+            low     = (xMinHigh - (sum - t)) + (product - t) + xMinLow + error;
+            
+            double xHigh = sum + low;
+            double xLow  = low - (xHigh - sum);
+            
+            if (view.isJulia())
+            {
+                tests[offset + i] = calculate
+                (
+                    xHigh, xLow, yHigh, yLow,
+                    view.getSeedReal(), 0, view.getSeedImaginary(), 0,
+                    smooth, offset + i
+                );
+            }
+            else
+            {
+                tests[offset + i] = calculate
+                (
+                    xHigh, xLow, yHigh, yLow, xHigh, xLow, yHigh, yLow,
+                    smooth, offset + i
+                );
+            }
+        }
+    }
+    
+    /**
+     * calculate
+     * 
+     * Picks the loop for this fractal. They are
+     * separate copies so the JIT compiles each on
+     * its own.
+     * 
+     * If smooth isn't null, the smooth iteration
+     * count of a pixel that escapes is put in
+     * smooth[index]. The loops already have z, so
+     * there is no need to follow it again.
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculate(double zrHigh, double zrLow, double ziHigh, double ziLow,
+                          double crHigh, double crLow, double ciHigh, double ciLow,
+                          float[] smooth, int index)
+    {
+        if (absolute)
+        {
+            return calculateAbsolute(zrHigh, zrLow, ziHigh, ziLow, crHigh, crLow, ciHigh, ciLow, smooth, index);
+        }
+        
+        return calculateSquare(zrHigh, zrLow, ziHigh, ziLow, crHigh, crLow, ciHigh, ciLow, smooth, index);
+    }
+    
+    /**
+     * calculateSquare
+     * 
+     * The Mandelbrot set, with the same cycle
+     * detection as MandelbrotChecker
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculateSquare(double zrHigh, double zrLow, double ziHigh, double ziLow,
+                                double crHigh, double crLow, double ciHigh, double ciLow,
+                                float[] smooth, int index)
+    {
+        int iterations = view.getIterations();
+        
+        double savedRealHigh      = zrHigh;
+        double savedRealLow       = zrLow;
+        double savedImaginaryHigh = ziHigh;
+        double savedImaginaryLow  = ziLow;
+        int    sinceSaved         = 0;
+        int    saveEvery          = 1;
+        
+        for (int i = 1; i < iterations; i++)
+        {
+            //zr*zr, zi*zi and zr*zi, each as a high part and
+            //its error, which is fma()'s rounding error plus
+            //the cross terms with the low parts
+            double rr  = zrHigh * zrHigh;
+            double rrE = Math.fma(zrHigh, zrHigh, -rr) + 2 * zrHigh * zrLow;
+            double ii  = ziHigh * ziHigh;
+            double iiE = Math.fma(ziHigh, ziHigh, -ii) + 2 * ziHigh * ziLow;
+            double ri  = zrHigh * ziHigh;
+            double riE = Math.fma(zrHigh, ziHigh, -ri) + zrHigh * ziLow + zrLow * ziHigh;
+            
+            //rr - ii + cr
+            double sum   = rr - ii;
+            double t     = sum - rr;
+            double error = (rr - (sum - t)) + (-ii - t) + rrE - iiE;
+            double next  = sum + crHigh;
+            
+            t      = next - sum;
+            error += (sum - (next - t)) + (crHigh - t) + crLow;
+            zrHigh = next + error;
+            zrLow  = error - (zrHigh - next);
+            
+            //2ri + ci
+            sum    = 2 * ri;
+            next   = sum + ciHigh;
+            t      = next - sum;
+            error  = (sum - (next - t)) + (ciHigh - t) + 2 * riE + ciLow;
+            ziHigh = next + error;
+            ziLow  = error - (ziHigh - next);
+            
+            if (zrHigh*zrHigh + ziHigh*ziHigh > 4)
+            {
+                if (smooth != null)
+                {
+                    smooth[index] = view.smooth(i, zrHigh, ziHigh, crHigh, ciHigh, absolute);
+                }
+                
+                return i;
+            }
+            
+            if (shortcuts && zrHigh == savedRealHigh && zrLow == savedRealLow
+                && ziHigh == savedImaginaryHigh && ziLow == savedImaginaryLow)
+            {
+                return iterations;
+            }
+            
+            if (++sinceSaved == saveEvery)
+            {
+                savedRealHigh      = zrHigh;
+                savedRealLow       = zrLow;
+                savedImaginaryHigh = ziHigh;
+                savedImaginaryLow  = ziLow;
+                sinceSaved         = 0;
+                saveEvery         *= 2;
+            }
+        }
+        
+        return iterations;
+    }
+    
+    /**
+     * calculateAbsolute
+     * 
+     * The Burning Ship. Same as calculateSquare(),
+     * but with the parts of z made positive first,
+     * and no cycle detection, as in
+     * BurningShipChecker
+     * 
+     * @see AlgorithmChecker.calculate
+     */
+    private int calculateAbsolute(double zrHigh, double zrLow, double ziHigh, double ziLow,
+                                  double crHigh, double crLow, double ciHigh, double ciLow,
+                                  float[] smooth, int index)
+    {
+        int iterations = view.getIterations();
+        
+        for (int i = 1; i < iterations; i++)
+        {
+            //The sign of a double-double is the sign of its
+            //high part
+            if (zrHigh < 0)
+            {
+                zrHigh = -zrHigh;
+                zrLow  = -zrLow;
+            }
+            if (ziHigh < 0)
+            {
+                ziHigh = -ziHigh;
+                ziLow  = -ziLow;
+            }
+            
+            double rr  = zrHigh * zrHigh;
+            double rrE = Math.fma(zrHigh, zrHigh, -rr) + 2 * zrHigh * zrLow;
+            double ii  = ziHigh * ziHigh;
+            double iiE = Math.fma(ziHigh, ziHigh, -ii) + 2 * ziHigh * ziLow;
+            double ri  = zrHigh * ziHigh;
+            double riE = Math.fma(zrHigh, ziHigh, -ri) + zrHigh * ziLow + zrLow * ziHigh;
+            
+            double sum   = rr - ii;
+            double t     = sum - rr;
+            double error = (rr - (sum - t)) + (-ii - t) + rrE - iiE;
+            double next  = sum + crHigh;
+            
+            t      = next - sum;
+            error += (sum - (next - t)) + (crHigh - t) + crLow;
+            zrHigh = next + error;
+            zrLow  = error - (zrHigh - next);
+            
+            sum    = 2 * ri;
+            next   = sum + ciHigh;
+            t      = next - sum;
+            error  = (sum - (next - t)) + (ciHigh - t) + 2 * riE + ciLow;
+            ziHigh = next + error;
+            ziLow  = error - (ziHigh - next);
+            
+            if (zrHigh*zrHigh + ziHigh*ziHigh > 4)
+            {
+                if (smooth != null)
+                {
+                    smooth[index] = view.smooth(i, zrHigh, ziHigh, crHigh, ciHigh, absolute);
+                }
+                
+                return i;
+            }
+        }
+        
+        return iterations;
+    }
+}
+
+/**
+ * PerturbationEngine
+ * 
+ * Draws zooms too deep for doubles. One point, the
+ * reference, has its orbit worked out with
+ * BigDecimals. Every pixel is then followed only as
+ * its difference from the reference, which is small
+ * enough for doubles to hold, so it runs at about
+ * the speed of calculate().
+ * 
+ * The difference doesn't always stay small, which
+ * is what causes the blobs of wrong colour that
+ * perturbation is known for. So whenever a pixel's
+ * z gets closer to 0 than to the reference's, or
+ * the reference runs out, it is rebased: the
+ * difference becomes z itself and the pixel carries
+ * on from the start of the reference, which is 0
+ * (Zhuoran's method).
+ * 
+ * For the Mandelbrot set, the first iterations can
+ * be skipped altogether. While the differences are
+ * small, each one is a polynomial in the pixel's
+ * dc, whose coefficients only depend on the
+ * reference. So they are worked out once, and
+ * every pixel starts from where its polynomial
+ * says it will be (series approximation).
+ * 
+ * The reference is worked out by prepare(), not
+ * the constructor, as that can take seconds. It
+ * mustn't be used before prepare() returns true.
+ * 
+ * Only the Mandelbrot set and the Burning Ship are
+ * supported, not Julia sets. The differences are
+ * still doubles, so it stops working at around
+ * 1e-300.
+ * 
+ * @author Emily Shepherd
+ */
+class PerturbationEngine implements Engine
+{
+    /**
+     * Decimal digits the reference is worked out to,
+     * on top of the ones needed to tell pixels apart
+     */
+    private static final int GUARD_DIGITS = 20;
+    
+    /**
+     * How far the series approximation can be out,
+     * relative to the difference it approximates
+     * 
+     * @see approximateSeries
+     */
+    private static final double TOLERANCE = 1e-6;
+    
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * Should prepare() work out the series?
+     * 
+     * @see AlgorithmChecker.seriesApproximation
+     */
+    private boolean approximate;
+    
+    /**
+     * The pixel the reference is at
+     */
+    private int referenceX;
+    private int referenceY;
+    
+    /**
+     * The reference's orbit, rounded to doubles,
+     * starting from 0. last is the index of the last
+     * one, where it escaped or ran out of iterations
+     */
+    private double[] referenceReal;
+    private double[] referenceImaginary;
+    private int      last;
+    
+    /**
+     * The iteration every pixel starts at. Anything
+     * more than 1 was skipped by the series, whose
+     * coefficients are below
+     */
+    private int skip = 1;
+    
+    /**
+     * The coefficients of dc/scale, dc/scale squared
+     * and cubed in the series. They are scaled so
+     * they don't overflow on deep zooms.
+     */
+    private double[] seriesReal      = new double[3];
+    private double[] seriesImaginary = new double[3];
+    private double   scale;
+    
+    /**
+     * PerturbationEngine
+     * 
+     * Puts the reference in the middle of the image.
+     * Its orbit is left for prepare().
+     * 
+     * @param checker The checker being drawn
+     * @param view    What is being drawn
+     */
+    public PerturbationEngine(AlgorithmChecker checker, View view)
+    {
+        this.view        = view;
+        this.absolute    = checker.absoluteParts();
+        this.approximate = !absolute && checker.seriesApproximation();
+        
+        referenceX = view.getWidth()  / 2;
+        referenceY = view.getHeight() / 2;
+    }
+    
+    /**
+     * prepare
+     * 
+     * Works out the reference orbit, and the series
+     * if it is being used. Gives up part way through
+     * the orbit if stale says to.
+     * 
+     * @param stale Returns true if the drawing has been abandoned
+     * @return true if the engine is ready, false if it gave up
+     */
+    public boolean prepare(BooleanSupplier stale)
+    {
+        BigDecimal cr = view.getExactXMin().add
+        (
+            new BigDecimal(view.getAxisXStep()).multiply(BigDecimal.valueOf(referenceX))
+        );
+        BigDecimal ci = view.getExactYMax().subtract
+        (
+            new BigDecimal(view.getAxisYStep()).multiply(BigDecimal.valueOf(referenceY))
+        );
+        
+        if (!calculateReference(cr, ci, stale)) return false;
+        
+        if (approximate)
+        {
+            approximateSeries();
+        }
+        
+        return true;
+    }
+    
+    /**
+     * getSkipped
+     * 
+     * Returns the number of iterations every pixel
+     * skips thanks to the series approximation
+     * 
+     * @return The iterations skipped, 0 if none
+     */
+    public int getSkipped()
+    {
+        return skip - 1;
+    }
+    
+    /**
+     * calculateReference
+     * 
+     * Iterates c from 0 with BigDecimals, keeping
+     * each z as a double
+     * 
+     * @param cr    The real part of the reference's c
+     * @param ci    The imaginary part of the reference's c
+     * @param stale Checked every iteration, to give up if it's true
+     * @return false if it gave up
+     */
+    private boolean calculateReference(BigDecimal cr, BigDecimal ci, BooleanSupplier stale)
+    {
+        int         iterations = view.getIterations();
+        double      smallest   = Math.min(view.getAxisXStep(), view.getAxisYStep());
+        MathContext context    = new MathContext
+        (
+            (int)Math.ceil(-Math.log10(smallest)) + GUARD_DIGITS
+        );
+        
+        referenceReal      = new double[iterations + 1];
+        referenceImaginary = new double[iterations + 1];
+        
+        BigDecimal zr = BigDecimal.ZERO;
+        BigDecimal zi = BigDecimal.ZERO;
+        
+        for (last = 0; ; last++)
+        {
+            double real      = zr.doubleValue();
+            double imaginary = zi.doubleValue();
+            
+            referenceReal[last]      = real;
+            referenceImaginary[last] = imaginary;
+            
+            if (last == iterations || real*real + imaginary*imaginary > 4)
+            {
+                return true;
+            }
+            
+            //Each one is slow this deep, so it's checked every time
+            if (stale.getAsBoolean()) return false;
+            
+            BigDecimal newReal = zr.multiply(zr, context)
+                .subtract(zi.multiply(zi, context), context).add(cr, context);
+            BigDecimal product = zr.multiply(zi, context);
+            
+            if (absolute)
+            {
+                product = product.abs();
+            }
+            
+            zi = product.add(product, context).add(ci, context);
+            zr = newReal;
+        }
+    }
+    
+    /**
+     * approximateSeries
+     * 
+     * Finds how many iterations can be skipped. The
+     * series is taken to the third power of dc, with
+     * the fourth worked out alongside as an estimate
+     * of the error. It stops once that is more than
+     * TOLERANCE of the first.
+     * 
+     * The estimate isn't a guarantee, so the corners
+     * and the middles of the edges are then iterated
+     * the normal way to check. If any disagree, or
+     * escape before the end, the skip is halved until
+     * they don't.
+     */
+    private void approximateSeries()
+    {
+        double farX = Math.max(referenceX, view.getWidth()  - referenceX) * view.getAxisXStep();
+        double farY = Math.max(referenceY, view.getHeight() - referenceY) * view.getAxisYStep();
+        
+        //dc is divided by the biggest it gets, so that the
+        //coefficients are about the size of the differences
+        scale = Math.hypot(farX, farY);
+        
+        int n = series(Math.min(last, view.getIterations()) - 1, true);
+        
+        while (n > 1 && !probesAgree(n))
+        {
+            n /= 2;
+        }
+        
+        //One iteration is just dc, so there's nothing to skip
+        if (n > 1)
+        {
+            series(n, false);
+            skip = n;
+        }
+    }
+    
+    /**
+     * series
+     * 
+     * Works out the coefficients after n iterations,
+     * and leaves them in seriesReal and
+     * seriesImaginary. With d = a*u + b*u^2 + c*u^3,
+     * where u is dc / scale, squaring and adding gives
+     * 
+     *   a' = 2Za + scale
+     *   b' = 2Zb + a*a
+     *   c' = 2Zc + 2ab
+     * 
+     * and the error estimate e' = 2Ze + 2ac + b*b
+     * 
+     * @param n        The number of iterations
+     * @param estimate true to stop early if the error gets too big
+     * @return The number of iterations the coefficients are for
+     */
+    private int series(int n, boolean estimate)
+    {
+        double ar = 0, ai = 0;
+        double br = 0, bi = 0;
+        double cr = 0, ci = 0;
+        double er = 0, ei = 0;
+        int    i;
+        
+        for (i = 0; i < n; i++)
+        {
+            double zr = 2 * referenceReal[i];
+            double zi = 2 * referenceImaginary[i];
+            
+            double newER = zr*er - zi*ei + 2 * (ar*cr - ai*ci) + br*br - bi*bi;
+            double newEI = zr*ei + zi*er + 2 * (ar*ci + ai*cr) + 2 * br*bi;
+            double newCR = zr*cr - zi*ci + 2 * (ar*br - ai*bi);
+            double newCI = zr*ci + zi*cr + 2 * (ar*bi + ai*br);
+            double newBR = zr*br - zi*bi + ar*ar - ai*ai;
+            double newBI = zr*bi + zi*br + 2 * ar*ai;
+            double newAR = zr*ar - zi*ai + scale;
+            double newAI = zr*ai + zi*ar;
+            
+            double size = newAR*newAR + newAI*newAI;
+            double nextR = referenceReal[i + 1];
+            double nextI = referenceImaginary[i + 1];
+            
+            //Also stop if the reference gets nearer to 0 than the
+            //differences, as the pixels would need rebasing there
+            if (estimate && (newER*newER + newEI*newEI > TOLERANCE*TOLERANCE * size
+                || nextR*nextR + nextI*nextI < size))
+            {
+                break;
+            }
+            
+            er = newER; ei = newEI;
+            cr = newCR; ci = newCI;
+            br = newBR; bi = newBI;
+            ar = newAR; ai = newAI;
+        }
+        
+        seriesReal[0] = ar; seriesImaginary[0] = ai;
+        seriesReal[1] = br; seriesImaginary[1] = bi;
+        seriesReal[2] = cr; seriesImaginary[2] = ci;
+        
+        return i;
+    }
+    
+    /**
+     * probesAgree
+     * 
+     * Checks the series after n iterations against
+     * the corners and the middles of the edges,
+     * iterated the normal way
+     * 
+     * @param n The number of iterations to skip
+     * @return true if the series is right for all of them
+     */
+    private boolean probesAgree(int n)
+    {
+        series(n, false);
+        
+        int[] xs = {0, referenceX, view.getWidth()  - 1};
+        int[] ys = {0, referenceY, view.getHeight() - 1};
+        
+        for (int x : xs)
+        {
+            for (int y : ys)
+            {
+                double dcr = (x - referenceX) * view.getAxisXStep();
+                double dci = (referenceY - y) * view.getAxisYStep();
+                double dr  = dcr;
+                double di  = dci;
+                
+                for (int m = 1; m < n; m++)
+                {
+                    double zr = referenceReal[m];
+                    double zi = referenceImaginary[m];
+                    
+                    double newReal = (2 * zr + dr) * dr - (2 * zi + di) * di + dcr;
+                    
+                    di = 2 * (zr * di + zi * dr + dr * di) + dci;
+                    dr = newReal;
+                    
+                    zr = referenceReal[m + 1]      + dr;
+                    zi = referenceImaginary[m + 1] + di;
+                    
+                    double size = zr*zr + zi*zi;
+                    
+                    if (size > 4 || size < dr*dr + di*di)
+                    {
+                        return false;
+                    }
+                }
+                
+                double ar = approximateReal(dcr, dci)      - dr;
+                double ai = approximateImaginary(dcr, dci) - di;
+                
+                if (ar*ar + ai*ai > TOLERANCE*TOLERANCE * (dr*dr + di*di))
+                {
+                    return false;
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * approximateReal
+     * 
+     * @param dcr The real part of the pixel's c minus the reference's
+     * @param dci The imaginary part of the pixel's c minus the reference's
+     * @return The real part of the series, ie of d after skip iterations
+     */
+    private double approximateReal(double dcr, double dci)
+    {
+        double ur = dcr / scale;
+        double ui = dci / scale;
+        
+        //((c*u + b)*u + a)*u
+        double tr = seriesReal[2]*ur - seriesImaginary[2]*ui + seriesReal[1];
+        double ti = seriesReal[2]*ui + seriesImaginary[2]*ur + seriesImaginary[1];
+        double t  = tr*ur - ti*ui + seriesReal[0];
+        
+        ti = tr*ui + ti*ur + seriesImaginary[0];
+        tr = t;
+        
+        return tr*ur - ti*ui;
+    }
+    
+    /**
+     * approximateImaginary
+     * 
+     * @param dcr The real part of the pixel's c minus the reference's
+     * @param dci The imaginary part of the pixel's c minus the reference's
+     * @return The imaginary part of the series
+     */
+    private double approximateImaginary(double dcr, double dci)
+    {
+        double ur = dcr / scale;
+        double ui = dci / scale;
+        
+        double tr = seriesReal[2]*ur - seriesImaginary[2]*ui + seriesReal[1];
+        double ti = seriesReal[2]*ui + seriesImaginary[2]*ur + seriesImaginary[1];
+        double t  = tr*ur - ti*ui + seriesReal[0];
+        
+        ti = tr*ui + ti*ur + seriesImaginary[0];
+        tr = t;
+        
+        return tr*ui + ti*ur;
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        double dci = (referenceY - y) * view.getAxisYStep();
+        
+        for (int i = 0; i < count; i++)
+        {
+            double dcr = (x + i * step - referenceX) * view.getAxisXStep();
+            
+            if (absolute)
+            {
+                tests[offset + i] = calculateAbsolute(dcr, dci, smooth, offset + i);
+            }
+            else
+            {
+                tests[offset + i] = calculate(dcr, dci, smooth, offset + i);
+            }
+        }
+    }
+    
+    /**
+     * calculate
+     * 
+     * Follows one pixel of the Mandelbrot set. If the
+     * reference is Z and the pixel is Z + d, then
+     * squaring and adding c gives Z*Z + C plus
+     * 2Zd + d*d + dc, and only that last part is
+     * worked out.
+     * 
+     * If smooth isn't null, the smooth iteration
+     * count of a pixel that escapes is put in
+     * smooth[index]
+     * 
+     * @param dcr    The real part of the pixel's c minus the reference's
+     * @param dci    The imaginary part of the pixel's c minus the reference's
+     * @param smooth Where to put the smooth count, or null
+     * @param index  Where in smooth it goes
+     * @return The number of iterations required for divergence
+     */
+    private int calculate(double dcr, double dci, float[] smooth, int index)
+    {
+        int iterations = view.getIterations();
+        
+        //z starts at c, which is where the reference is after
+        //its first iteration, unless the series skips ahead
+        double dr = dcr;
+        double di = dci;
+        int    m  = skip;
+        
+        if (skip > 1)
+        {
+            dr = approximateReal(dcr, dci);
+            di = approximateImaginary(dcr, dci);
+        }
+        
+        for (int i = skip; i < iterations; i++)
+        {
+            if (m == last)
+            {
+                dr += referenceReal[m];
+                di += referenceImaginary[m];
+                m   = 0;
+            }
+            
+            double zr = referenceReal[m];
+            double zi = referenceImaginary[m];
+            
+            double newReal = (2 * zr + dr) * dr - (2 * zi + di) * di + dcr;
+            
+            di = 2 * (zr * di + zi * dr + dr * di) + dci;
+            dr = newReal;
+            m++;
+            
+            zr = referenceReal[m]      + dr;
+            zi = referenceImaginary[m] + di;
+            
+            double size = zr*zr + zi*zi;
+            
+            if (size > 4)
+            {
+                //The reference's first z is its c
+                if (smooth != null)
+                {
+                    smooth[index] = view.smooth
+                    (
+                        i, zr, zi, referenceReal[1] + dcr, referenceImaginary[1] + dci, absolute
+                    );
+                }
+                
+                return i;
+            }
+            
+            if (size < dr*dr + di*di)
+            {
+                dr = zr;
+                di = zi;
+                m  = 0;
+            }
+        }
+        
+        return iterations;
+    }
+    
+    /**
+     * calculateAbsolute
+     * 
+     * Same as calculate(), for the Burning Ship. The
+     * imaginary part is 2|Zr*Zi| + Ci, so its
+     * difference needs diffAbs()
+     * 
+     * @param dcr    The real part of the pixel's c minus the reference's
+     * @param dci    The imaginary part of the pixel's c minus the reference's
+     * @param smooth Where to put the smooth count, or null
+     * @param index  Where in smooth it goes
+     * @return The number of iterations required for divergence
+     */
+    private int calculateAbsolute(double dcr, double dci, float[] smooth, int index)
+    {
+        int iterations = view.getIterations();
+        
+        double dr = dcr;
+        double di = dci;
+        int    m  = 1;
+        
+        for (int i = 1; i < iterations; i++)
+        {
+            if (m == last)
+            {
+                dr += referenceReal[m];
+                di += referenceImaginary[m];
+                m   = 0;
+            }
+            
+            double zr = referenceReal[m];
+            double zi = referenceImaginary[m];
+            
+            double newReal = (2 * zr + dr) * dr - (2 * zi + di) * di + dcr;
+            
+            di = 2 * diffAbs(zr * zi, zr * di + zi * dr + dr * di) + dci;
+            dr = newReal;
+            m++;
+            
+            zr = referenceReal[m]      + dr;
+            zi = referenceImaginary[m] + di;
+            
+            double size = zr*zr + zi*zi;
+            
+            if (size > 4)
+            {
+                //The reference's first z is its c
+                if (smooth != null)
+                {
+                    smooth[index] = view.smooth
+                    (
+                        i, zr, zi, referenceReal[1] + dcr, referenceImaginary[1] + dci, absolute
+                    );
+                }
+                
+                return i;
+            }
+            
+            if (size < dr*dr + di*di)
+            {
+                dr = zr;
+                di = zi;
+                m  = 0;
+            }
+        }
+        
+        return iterations;
+    }
+    
+    /**
+     * diffAbs
+     * 
+     * Returns |a + b| - |a| without subtracting two
+     * nearly equal numbers when b is tiny
+     * 
+     * @param a The reference's value
+     * @param b The pixel's difference from it
+     * @return How much b changes the absolute value
+     */
+    private static double diffAbs(double a, double b)
+    {
+        if (a >= 0)
+        {
+            return a + b >= 0 ? b : -(2 * a + b);
+        }
+        
+        return a + b > 0 ? 2 * a + b : -b;
+    }
+}
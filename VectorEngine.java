@@ -0,0 +1,323 @@
+/**
+ * COMP1008 Coursework
+ * 
+ * 
+ * 
+ * @author Emily Shepherd
+ * @ecsId  ams2g11
+ */
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * VectorEngine
+ * 
+ * An Engine that calculates as many pixels at once
+ * as the CPU's vector registers hold doubles (4 on
+ * AVX2, 8 on AVX-512). Each pixel has its own lane,
+ * and a mask keeps track of which lanes are still
+ * going, so the loop only ends when every lane has
+ * escaped or been proven not to.
+ * 
+ * The sums are done in the same order as
+ * calculate(), so the results are identical to
+ * ScalarEngine's.
+ * 
+ * The JIT only keeps a vector in registers if it
+ * can follow it all the way through. One that is
+ * assigned on just one side of an if, or passed to
+ * a method that isn't inlined, is boxed on the
+ * heap, and inside the loop that is every
+ * iteration. So the loops blend rather than branch,
+ * keep the point saved for cycle detection in an
+ * array, and use and(not()) rather than andNot(),
+ * which isn't always inlined in a method this big.
+ * 
+ * This is kept out of Main.java as the Vector API
+ * is still an incubator module. AlgorithmChecker
+ * looks it up by name, and falls back to
+ * ScalarEngine if it is missing. To use it:
+ * 
+ *   javac --add-modules jdk.incubator.vector Main.java VectorEngine.java
+ *   java  --add-modules jdk.incubator.vector Main
+ * 
+ * @author Emily Shepherd
+ */
+class VectorEngine implements Engine
+{
+    /**
+     * The widest vector shape the CPU supports
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    
+    /**
+     * 0, 1, 2, ... one per lane
+     */
+    private static final DoubleVector LANES = DoubleVector.zero(SPECIES).addIndex(1);
+    
+    /**
+     * Used for the pixels left over at the end of a
+     * row that don't fill a whole vector
+     */
+    private ScalarEngine scalar;
+    
+    /**
+     * What is being drawn
+     */
+    private View view;
+    
+    /**
+     * Is this the Burning Ship?
+     * 
+     * @see AlgorithmChecker.absoluteParts
+     */
+    private boolean absolute;
+    
+    /**
+     * If false, the cardioid, bulb and cycle checks
+     * are skipped
+     * 
+     * @see AlgorithmChecker.shortcuts
+     */
+    private boolean shortcuts;
+    
+    /**
+     * VectorEngine
+     * 
+     * @param checker The checker being drawn
+     * @param view    What is being drawn
+     */
+    public VectorEngine(AlgorithmChecker checker, View view)
+    {
+        this.view      = view;
+        this.absolute  = checker.absoluteParts();
+        this.shortcuts = checker.shortcuts();
+        this.scalar    = new ScalarEngine(checker, view);
+    }
+    
+    /**
+     * calculateRow
+     * 
+     * @see Engine.calculateRow
+     */
+    public void calculateRow(int x, int y, int step, int count, int[] tests, float[] smooth, int offset)
+    {
+        int      lanes   = SPECIES.length();
+        double[] results = new double[lanes];
+        double[] saved   = new double[2 * lanes];
+        int      i       = 0;
+        
+        //Never saved over, and NaN never equals anything,
+        //so no lane is ever stopped by the cycle check
+        if (!shortcuts)
+        {
+            Arrays.fill(saved, Double.NaN);
+        }
+        
+        for (; i + lanes <= count; i += lanes)
+        {
+            if (absolute)
+            {
+                calculateLanesAbsolute(x + i * step, y, step, saved, results);
+            }
+            else
+            {
+                calculateLanes(x + i * step, y, step, saved, results);
+            }
+            
+            for (int lane = 0; lane < lanes; lane++)
+            {
+                tests[offset + i + lane] = (int)results[lane];
+                
+                //The lanes have carried on past where they escaped,
+                //so the scalar engine follows those again
+                if (smooth != null && results[lane] < view.getIterations())
+                {
+                    smooth[offset + i + lane] = scalar.smooth
+                    (
+                        x + (i + lane) * step, y, (int)results[lane]
+                    );
+                }
+            }
+        }
+        
+        scalar.calculateRow(x + i * step, y, step, count - i, tests, smooth, offset + i);
+    }
+    
+    /**
+     * calculateLanes
+     * 
+     * Calculates one vector's worth of pixels of the
+     * Mandelbrot set (or its Julia sets)
+     * 
+     * @param x       The x coordinate of the first pixel
+     * @param y       The y coordinate of the row
+     * @param step    The gap between pixels
+     * @param saved   Room for the point saved for cycle detection
+     * @param results Where to put the number of iterations for each
+     */
+    private void calculateLanes(int x, int y, int step, double[] saved, double[] results)
+    {
+        int iterations = view.getIterations();
+        
+        //x + lane * step, then scaled the same way as View.getAxisX()
+        DoubleVector axisX = LANES.mul(step).add(x)
+            .mul(view.getAxisXStep()).add(view.getAxisXMin());
+        DoubleVector axisY = DoubleVector.broadcast(SPECIES, view.getAxisY(y));
+        
+        //c is the seed for Julia sets, and the pixel otherwise
+        VectorMask<Double> julia = SPECIES.maskAll(view.isJulia());
+        
+        DoubleVector zr = axisX;
+        DoubleVector zi = axisY;
+        DoubleVector cr = axisX.blend(view.getSeedReal(), julia);
+        DoubleVector ci = axisY.blend(view.getSeedImaginary(), julia);
+        
+        //Points in the main cardioid or the period-2 bulb never
+        //escape. Moved to 0, they stay there, so the first cycle check
+        //stops them with the iterations value. The sums are those of
+        //MandelbrotChecker.inCardioid() and inBulb()
+        DoubleVector cardioidX = cr.sub(0.25);
+        DoubleVector cardioidQ = cardioidX.mul(cardioidX).add(ci.mul(ci));
+        DoubleVector bulbX     = cr.add(1);
+        
+        VectorMask<Double> inside = cardioidQ.mul(cardioidQ.add(cardioidX))
+            .compare(VectorOperators.LE, ci.mul(0.25).mul(ci))
+            .or(bulbX.mul(bulbX).add(ci.mul(ci)).compare(VectorOperators.LE, 0.0625))
+            .and(SPECIES.maskAll(shortcuts && !view.isJulia()));
+        
+        zr = zr.blend(0, inside);
+        zi = zi.blend(0, inside);
+        cr = cr.blend(0, inside);
+        ci = ci.blend(0, inside);
+        
+        VectorMask<Double> running = SPECIES.maskAll(true);
+        
+        DoubleVector tests = DoubleVector.broadcast(SPECIES, iterations);
+        
+        //Brent's cycle detection, as in MandelbrotChecker
+        int lanes      = SPECIES.length();
+        int sinceSaved = 0;
+        int saveEvery  = 1;
+        
+        if (shortcuts)
+        {
+            zr.intoArray(saved, 0);
+            zi.intoArray(saved, lanes);
+        }
+        
+        for (int i = 1; i < iterations && running.anyTrue(); i++)
+        {
+            DoubleVector newReal = zr.mul(zr).sub(zi.mul(zi));
+            
+            zi = zr.mul(2).mul(zi).add(ci);
+            zr = newReal.add(cr);
+            
+            VectorMask<Double> escaped = zr.mul(zr).add(zi.mul(zi))
+                .compare(VectorOperators.GT, 4).and(running);
+            
+            tests   = tests.blend(i, escaped);
+            running = running.and(escaped.not());
+            
+            //Stuck in a cycle - these keep the iterations value
+            running = running.and
+            (
+                zr.eq(DoubleVector.fromArray(SPECIES, saved, 0))
+                    .and(zi.eq(DoubleVector.fromArray(SPECIES, saved, lanes))).not()
+            );
+            
+            if (shortcuts && ++sinceSaved == saveEvery)
+            {
+                zr.intoArray(saved, 0);
+                zi.intoArray(saved, lanes);
+                sinceSaved  = 0;
+                saveEvery  *= 2;
+            }
+        }
+        
+        tests.intoArray(results, 0);
+    }
+    
+    /**
+     * calculateLanesAbsolute
+     * 
+     * Same as calculateLanes(), but for the Burning
+     * Ship. It is a separate copy so the JIT compiles
+     * each loop on its own. A shared loop with an
+     * if (absolute) inside it was more than twice as
+     * slow once both fractals had been drawn.
+     * 
+     * @param x       The x coordinate of the first pixel
+     * @param y       The y coordinate of the row
+     * @param step    The gap between pixels
+     * @param saved   Room for the point saved for cycle detection
+     * @param results Where to put the number of iterations for each
+     */
+    private void calculateLanesAbsolute(int x, int y, int step, double[] saved, double[] results)
+    {
+        int iterations = view.getIterations();
+        
+        DoubleVector axisX = LANES.mul(step).add(x)
+            .mul(view.getAxisXStep()).add(view.getAxisXMin());
+        DoubleVector axisY = DoubleVector.broadcast(SPECIES, view.getAxisY(y));
+        
+        VectorMask<Double> julia = SPECIES.maskAll(view.isJulia());
+        
+        DoubleVector zr = axisX;
+        DoubleVector zi = axisY;
+        DoubleVector cr = axisX.blend(view.getSeedReal(), julia);
+        DoubleVector ci = axisY.blend(view.getSeedImaginary(), julia);
+        
+        VectorMask<Double> running = SPECIES.maskAll(true);
+        
+        DoubleVector tests = DoubleVector.broadcast(SPECIES, iterations);
+        
+        int lanes      = SPECIES.length();
+        int sinceSaved = 0;
+        int saveEvery  = 1;
+        
+        if (shortcuts)
+        {
+            zr.intoArray(saved, 0);
+            zi.intoArray(saved, lanes);
+        }
+        
+        for (int i = 1; i < iterations && running.anyTrue(); i++)
+        {
+            zr = zr.abs();
+            zi = zi.abs();
+            
+            DoubleVector newReal = zr.mul(zr).sub(zi.mul(zi));
+            
+            zi = zr.mul(2).mul(zi).add(ci);
+            zr = newReal.add(cr);
+            
+            VectorMask<Double> escaped = zr.mul(zr).add(zi.mul(zi))
+                .compare(VectorOperators.GT, 4).and(running);
+            
+            tests   = tests.blend(i, escaped);
+            running = running.and(escaped.not());
+            running = running.and
+            (
+                zr.eq(DoubleVector.fromArray(SPECIES, saved, 0))
+                    .and(zi.eq(DoubleVector.fromArray(SPECIES, saved, lanes))).not()
+            );
+            
+            if (shortcuts && ++sinceSaved == saveEvery)
+            {
+                zr.intoArray(saved, 0);
+                zi.intoArray(saved, lanes);
+                sinceSaved  = 0;
+                saveEvery  *= 2;
+            }
+        }
+        
+        tests.intoArray(results, 0);
+    }
+}
@@ -0,0 +1,366 @@
+import benchmarks.Targets;
+
+import java.awt.image.BufferedImage;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * FractalTargets
+ * 
+ * Gives the benchmarks, which have to be in a
+ * package, what they measure from the fractal
+ * classes in the default package
+ * 
+ * @author Emily Shepherd
+ * @see    Targets
+ */
+public class FractalTargets implements Targets
+{
+    /**
+     * For PerturbationEngine.prepare(), as nothing
+     * here is ever abandoned
+     */
+    private static final BooleanSupplier NEVER_STALE = new BooleanSupplier()
+    {
+        public boolean getAsBoolean()
+        {
+            return false;
+        }
+    };
+    
+    /**
+     * getThreads
+     * 
+     * @see Targets.getThreads
+     */
+    public int getThreads()
+    {
+        return AlgorithmChecker.getThreads();
+    }
+    
+    /**
+     * iterations
+     * 
+     * @see Targets.iterations
+     */
+    public int iterations(String view)
+    {
+        if (view.equals(DEFAULT))
+        {
+            return 100;
+        }
+        if (view.equals(FULL))
+        {
+            return 256;
+        }
+        if (view.equals(SEAHORSE) || view.equals(INTERIOR) || view.equals(MINIBROT))
+        {
+            return 1000;
+        }
+        if (view.equals(DEEP))
+        {
+            return 3000;
+        }
+        
+        throw new IllegalArgumentException("Unknown view: " + view);
+    }
+    
+    /**
+     * axis
+     * 
+     * @param view   One of the views
+     * @param width  The image width
+     * @param height The image height
+     * @return {xMin, xMax, yMin, yMax}, with square pixels
+     *         for all but DEFAULT, which is stretched to fit
+     *         as the program's own is
+     */
+    private static BigDecimal[] axis(String view, int width, int height)
+    {
+        BigDecimal real, imaginary, across;
+        
+        if (view.equals(DEFAULT))
+        {
+            return new BigDecimal[]
+            {
+                new BigDecimal("-2"), new BigDecimal("2"), new BigDecimal("-1.6"), new BigDecimal("1.6")
+            };
+        }
+        else if (view.equals(FULL))
+        {
+            real      = new BigDecimal("-0.5");
+            imaginary = BigDecimal.ZERO;
+            across    = new BigDecimal("3.5");
+        }
+        else if (view.equals(SEAHORSE))
+        {
+            real      = new BigDecimal("-0.7436");
+            imaginary = new BigDecimal("0.1318");
+            across    = new BigDecimal("0.01");
+        }
+        else if (view.equals(INTERIOR))
+        {
+            real      = new BigDecimal("-0.25");
+            imaginary = BigDecimal.ZERO;
+            across    = new BigDecimal("1.2");
+        }
+        else if (view.equals(MINIBROT))
+        {
+            real      = new BigDecimal("-1.7685");
+            imaginary = BigDecimal.ZERO;
+            across    = new BigDecimal("0.05");
+        }
+        else if (view.equals(DEEP))
+        {
+            real      = new BigDecimal("-1.76886568129060815225104");
+            imaginary = new BigDecimal("-0.0017389");
+            across    = new BigDecimal("2E-16");
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown view: " + view);
+        }
+        
+        BigDecimal half = new BigDecimal("0.5");
+        BigDecimal down = across.multiply(BigDecimal.valueOf(height))
+            .divide(BigDecimal.valueOf(width), MathContext.DECIMAL64);
+        
+        return new BigDecimal[]
+        {
+            real.subtract(across.multiply(half)), real.add(across.multiply(half)),
+            imaginary.subtract(down.multiply(half)), imaginary.add(down.multiply(half))
+        };
+    }
+    
+    /**
+     * view
+     * 
+     * @return A View as a RenderJob would make it
+     */
+    private View view(String view, int width, int height)
+    {
+        BigDecimal[] axis = axis(view, width, height);
+        
+        return new View
+        (
+            axis[0], axis[3],
+            axis[1].subtract(axis[0]).doubleValue() / width,
+            axis[3].subtract(axis[2]).doubleValue() / height,
+            width, height, iterations(view), null
+        );
+    }
+    
+    /**
+     * checker
+     * 
+     * @param fractal    MANDELBROT or SHIP
+     * @param iterations The maximum iterations
+     * @return A checker for the fractal, which isn't a Julia set
+     */
+    private static AlgorithmChecker checker(String fractal, int iterations)
+    {
+        AlgorithmChecker checker;
+        
+        if (fractal.equals(MANDELBROT))
+        {
+            checker = new MandelbrotChecker(false);
+        }
+        else if (fractal.equals(SHIP))
+        {
+            checker = new BurningShipChecker(false);
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown fractal: " + fractal);
+        }
+        
+        checker.setIterations(iterations);
+        
+        return checker;
+    }
+    
+    /**
+     * points
+     * 
+     * @see Targets.points
+     */
+    public double[] points(String view, int width, int height)
+    {
+        View     v      = view(view, width, height);
+        double[] points = new double[2 * width * height];
+        
+        for (int y = 0, i = 0; y < height; y++)
+        {
+            for (int x = 0; x < width; x++, i += 2)
+            {
+                points[i]     = v.getAxisX(x);
+                points[i + 1] = v.getAxisY(y);
+            }
+        }
+        
+        return points;
+    }
+    
+    /**
+     * kernel
+     * 
+     * @see Targets.kernel
+     */
+    public Kernel kernel(String fractal, int iterations)
+    {
+        final AlgorithmChecker checker = checker(fractal, iterations);
+        
+        return new Kernel()
+        {
+            public int calculate(double zr, double zi, double cr, double ci)
+            {
+                return checker.calculate(zr, zi, cr, ci);
+            }
+        };
+    }
+    
+    /**
+     * complexKernel
+     * 
+     * @see Targets.complexKernel
+     */
+    public Kernel complexKernel(String fractal, int iterations)
+    {
+        final AlgorithmChecker checker = checker(fractal, iterations);
+        
+        return new Kernel()
+        {
+            public int calculate(double zr, double zi, double cr, double ci)
+            {
+                return checker.calculate(new ComplexNumber(zr, zi), new ComplexNumber(cr, ci));
+            }
+        };
+    }
+    
+    /**
+     * complexArithmetic
+     * 
+     * @see Targets.complexArithmetic
+     */
+    public Kernel complexArithmetic(final int iterations)
+    {
+        return new Kernel()
+        {
+            public int calculate(double zr, double zi, double cr, double ci)
+            {
+                ComplexNumber z = new ComplexNumber(zr, zi);
+                ComplexNumber c = new ComplexNumber(cr, ci);
+                
+                for (int i = 1; i < iterations; i++)
+                {
+                    z.square();
+                    z.add(c);
+                    
+                    if (z.modulusSquared() > 4)
+                    {
+                        return i;
+                    }
+                }
+                
+                return iterations;
+            }
+        };
+    }
+    
+    /**
+     * rows
+     * 
+     * @see Targets.rows
+     */
+    public Rows rows(String fractal, String engine, String view, final int width, int height, boolean series)
+    {
+        View             v       = view(view, width, height);
+        AlgorithmChecker checker = checker(fractal, v.getIterations());
+        final Engine     e;
+        
+        if (checker instanceof MandelbrotChecker)
+        {
+            ((MandelbrotChecker)checker).setSeriesApproximation(series);
+        }
+        
+        if (engine.equals("scalar"))
+        {
+            e = new ScalarEngine(checker, v);
+        }
+        else if (engine.equals("vector"))
+        {
+            e = new VectorEngine(checker, v);
+        }
+        else if (engine.equals("float"))
+        {
+            e = new FloatEngine(checker, v);
+        }
+        else if (engine.equals("floatVector"))
+        {
+            e = new FloatVectorEngine(checker, v);
+        }
+        else if (engine.equals("doubleDouble"))
+        {
+            e = new DoubleDoubleEngine(checker, v);
+        }
+        else if (engine.equals("perturbation"))
+        {
+            PerturbationEngine perturbation = new PerturbationEngine(checker, v);
+            
+            //The reference is worked out here, as a RenderJob's
+            //first stage would, so it isn't part of the timing
+            if (!perturbation.prepare(NEVER_STALE))
+            {
+                throw new IllegalStateException("The reference wasn't worked out");
+            }
+            
+            e = perturbation;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+        
+        final int skipped = e instanceof PerturbationEngine ? ((PerturbationEngine)e).getSkipped() : 0;
+        
+        return new Rows()
+        {
+            public void calculateRow(int y, int[] tests)
+            {
+                e.calculateRow(0, y, 1, width, tests, null, 0);
+            }
+            
+            public int getSkipped()
+            {
+                return skipped;
+            }
+        };
+    }
+    
+    /**
+     * frame
+     * 
+     * @see Targets.frame
+     */
+    public Frame frame(String fractal, String view, int width, int height, boolean vectorised, boolean subdivision)
+    {
+        BigDecimal[]           axis    = axis(view, width, height);
+        final AlgorithmChecker checker = checker(fractal, iterations(view));
+        
+        checker.setVectorised(vectorised);
+        checker.setSubdivision(subdivision);
+        checker.setCached(false);
+        checker.resize(width, height);
+        checker.changeAxis(axis[0], axis[1], axis[2], axis[3]);
+        
+        return new Frame()
+        {
+            public BufferedImage render() throws Exception
+            {
+                return checker.start().get();
+            }
+        };
+    }
+}
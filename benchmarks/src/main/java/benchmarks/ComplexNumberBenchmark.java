@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * ComplexNumberBenchmark
+ * 
+ * The time per pixel of the Mandelbrot set drawn
+ * the way it first was, with ComplexNumber's
+ * square(), add() and modulusSquared(), for
+ * comparing with KernelBenchmark. It has none of
+ * calculate()'s shortcuts, so the seahorse valley,
+ * which needs them least, is the fairest view.
+ * 
+ * @author Emily Shepherd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(KernelBenchmark.POINTS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class ComplexNumberBenchmark
+{
+    @Param({Targets.FULL, Targets.SEAHORSE})
+    public String view;
+    
+    private Targets.Kernel kernel;
+    private double[]       points;
+    
+    @Setup
+    public void setUp()
+    {
+        Targets targets = Targets.load();
+        
+        kernel = targets.complexArithmetic(targets.iterations(view));
+        points = targets.points(view, KernelBenchmark.WIDTH, KernelBenchmark.HEIGHT);
+    }
+    
+    @Benchmark
+    public int iterate()
+    {
+        int total = 0;
+        
+        for (int i = 0; i < points.length; i += 2)
+        {
+            total += kernel.calculate(0, 0, points[i], points[i + 1]);
+        }
+        
+        return total;
+    }
+}
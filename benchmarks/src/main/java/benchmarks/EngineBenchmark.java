@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * EngineBenchmark
+ * 
+ * The time per pixel of each Engine, calculating
+ * every row of an image on one thread, with none of
+ * the tiling or colouring around it. The series
+ * approximation only changes perturbation on the
+ * Mandelbrot set, and is only much use on the deep
+ * view, so setup prints how many iterations it
+ * skipped.
+ * 
+ * @author Emily Shepherd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(EngineBenchmark.WIDTH * EngineBenchmark.HEIGHT)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class EngineBenchmark
+{
+    /**
+     * The image size
+     */
+    static final int WIDTH  = 256;
+    static final int HEIGHT = 192;
+    
+    @Param({"scalar", "vector", "float", "floatVector", "doubleDouble", "perturbation"})
+    public String engine;
+    
+    @Param({Targets.MANDELBROT, Targets.SHIP})
+    public String fractal;
+    
+    @Param({Targets.SEAHORSE, Targets.DEEP})
+    public String view;
+    
+    @Param({"true", "false"})
+    public boolean series;
+    
+    private Targets.Rows rows;
+    
+    /**
+     * Where each row's iteration counts go
+     */
+    private int[] tests = new int[WIDTH];
+    
+    @Setup
+    public void setUp()
+    {
+        rows = Targets.load().rows(fractal, engine, view, WIDTH, HEIGHT, series);
+        
+        if (rows.getSkipped() > 0)
+        {
+            System.out.println("The series approximation skips " + rows.getSkipped() + " iterations");
+        }
+    }
+    
+    @Benchmark
+    public int[] calculateRows()
+    {
+        for (int y = 0; y < HEIGHT; y++)
+        {
+            rows.calculateRow(y, tests);
+        }
+        
+        return tests;
+    }
+}
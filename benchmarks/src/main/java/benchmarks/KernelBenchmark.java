@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * KernelBenchmark
+ * 
+ * The time per pixel of the per pixel kernel,
+ * AlgorithmChecker.calculate(), on its own, over a
+ * grid of points across the view, along with the
+ * ComplexNumber version it replaced. That makes two
+ * objects a pixel, unless the JIT's escape analysis
+ * removes them, which -prof gc shows.
+ * 
+ * @author Emily Shepherd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(KernelBenchmark.POINTS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class KernelBenchmark
+{
+    /**
+     * The grid of points
+     */
+    static final int WIDTH  = 64;
+    static final int HEIGHT = 48;
+    static final int POINTS = WIDTH * HEIGHT;
+    
+    @Param({Targets.MANDELBROT, Targets.SHIP})
+    public String fractal;
+    
+    @Param({Targets.FULL, Targets.SEAHORSE})
+    public String view;
+    
+    /**
+     * calculate(double, double, double, double) and
+     * calculate(ComplexNumber, ComplexNumber)
+     */
+    private Targets.Kernel kernel;
+    private Targets.Kernel complex;
+    
+    /**
+     * The real and imaginary part of each point
+     */
+    private double[] points;
+    
+    @Setup
+    public void setUp()
+    {
+        Targets targets    = Targets.load();
+        int     iterations = targets.iterations(view);
+        
+        kernel  = targets.kernel(fractal, iterations);
+        complex = targets.complexKernel(fractal, iterations);
+        points  = targets.points(view, WIDTH, HEIGHT);
+    }
+    
+    @Benchmark
+    public int calculate()
+    {
+        int total = 0;
+        
+        for (int i = 0; i < points.length; i += 2)
+        {
+            total += kernel.calculate(points[i], points[i + 1], points[i], points[i + 1]);
+        }
+        
+        return total;
+    }
+    
+    @Benchmark
+    public int calculateComplexNumbers()
+    {
+        int total = 0;
+        
+        for (int i = 0; i < points.length; i += 2)
+        {
+            total += complex.calculate(points[i], points[i + 1], points[i], points[i + 1]);
+        }
+        
+        return total;
+    }
+}
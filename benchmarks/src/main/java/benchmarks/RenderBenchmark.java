@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * RenderBenchmark
+ * 
+ * How long a whole image takes with
+ * AlgorithmChecker.start(), on every thread of the
+ * pool, with the tiles, Precision choice, colouring
+ * and all. The tile cache is off, so nothing is
+ * reused between frames. Subdivision only applies
+ * to the Mandelbrot set, and pays off on the views
+ * that are mostly inside it.
+ * 
+ * @author Emily Shepherd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class RenderBenchmark
+{
+    @Param({Targets.MANDELBROT, Targets.SHIP})
+    public String fractal;
+    
+    @Param({Targets.DEFAULT, Targets.FULL, Targets.SEAHORSE, Targets.INTERIOR, Targets.MINIBROT, Targets.DEEP})
+    public String view;
+    
+    @Param({"640x480", "1920x1080"})
+    public String size;
+    
+    @Param({"true"})
+    public boolean vectorised;
+    
+    @Param({"false", "true"})
+    public boolean subdivision;
+    
+    private Targets.Frame frame;
+    
+    @Setup
+    public void setUp()
+    {
+        String[] parts = size.split("x");
+        
+        frame = Targets.load().frame
+        (
+            fractal, view, Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), vectorised, subdivision
+        );
+    }
+    
+    @Benchmark
+    public BufferedImage render() throws Exception
+    {
+        return frame.render();
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * ScalingBenchmark
+ * 
+ * How a 1920x1080 image of the seahorse valley
+ * speeds up with more threads in the pool. JMH
+ * starts a new JVM for each thread count, so the
+ * fractal.threads property is set before the pool
+ * is made. Counts above the number of cores show
+ * what oversubscribing costs.
+ * 
+ * @author Emily Shepherd
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class ScalingBenchmark
+{
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+    
+    private Targets.Frame frame;
+    
+    @Setup
+    public void setUp()
+    {
+        System.setProperty("fractal.threads", String.valueOf(threads));
+        
+        Targets targets = Targets.load();
+        
+        if (targets.getThreads() != threads)
+        {
+            throw new IllegalStateException("The pool was made before fractal.threads was set");
+        }
+        
+        frame = targets.frame(Targets.MANDELBROT, Targets.SEAHORSE, 1920, 1080, true, false);
+    }
+    
+    @Benchmark
+    public BufferedImage render() throws Exception
+    {
+        return frame.render();
+    }
+}
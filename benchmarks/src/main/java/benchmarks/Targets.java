@@ -0,0 +1,182 @@
+package benchmarks;
+
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Targets
+ * 
+ * What the benchmarks measure. The fractal classes
+ * are all in the default package, which JMH won't
+ * generate benchmarks for, and which no other
+ * package can see. So FractalTargets, in the
+ * default package, implements this, and the
+ * benchmarks only ever call through it. Each
+ * benchmark only sees one implementation of each
+ * interface, so the JIT inlines the calls.
+ * 
+ * @author Emily Shepherd
+ */
+public interface Targets
+{
+    /**
+     * The fractals, as AlgorithmChecker subclasses
+     */
+    String MANDELBROT = "mandelbrot";
+    String SHIP       = "ship";
+    
+    /**
+     * The views, with the iterations each needs: the
+     * one the program opens on, (-2, 2, -1.6, 1.6) at
+     * 100, all of the Mandelbrot set at 256, the
+     * seahorse valley at 1000, and a zoom too deep for
+     * doubles at 3000. INTERIOR and MINIBROT are mostly
+     * inside the set, the main cardioid and the
+     * period 3 copy on the real axis, at 1000.
+     */
+    String DEFAULT  = "default";
+    String FULL     = "full";
+    String SEAHORSE = "seahorse";
+    String INTERIOR = "interior";
+    String MINIBROT = "minibrot";
+    String DEEP     = "deep";
+    
+    /**
+     * Kernel
+     * 
+     * The number of iterations one point takes
+     */
+    interface Kernel
+    {
+        int calculate(double zr, double zi, double cr, double ci);
+    }
+    
+    /**
+     * Rows
+     * 
+     * Calculates the rows of an image, with one Engine
+     */
+    interface Rows
+    {
+        void calculateRow(int y, int[] tests);
+        
+        /**
+         * getSkipped
+         * 
+         * @return The iterations every pixel skips with the
+         *         series approximation, 0 if there isn't one
+         */
+        int getSkipped();
+    }
+    
+    /**
+     * Frame
+     * 
+     * Draws a whole image, on the pool
+     */
+    interface Frame
+    {
+        BufferedImage render() throws Exception;
+    }
+    
+    /**
+     * points
+     * 
+     * @param view   One of the views
+     * @param width  The number of columns
+     * @param height The number of rows
+     * @return The real and imaginary parts of each pixel,
+     *         one after the other, a row at a time
+     */
+    double[] points(String view, int width, int height);
+    
+    /**
+     * iterations
+     * 
+     * @param view One of the views
+     * @return The iterations the view is drawn with
+     */
+    int iterations(String view);
+    
+    /**
+     * kernel
+     * 
+     * @param fractal    MANDELBROT or SHIP
+     * @param iterations The maximum iterations
+     * @return The checker's calculate(double, double, double, double)
+     */
+    Kernel kernel(String fractal, int iterations);
+    
+    /**
+     * complexKernel
+     * 
+     * @param fractal    MANDELBROT or SHIP
+     * @param iterations The maximum iterations
+     * @return The checker's calculate(ComplexNumber, ComplexNumber),
+     *         with new ComplexNumbers for each point
+     */
+    Kernel complexKernel(String fractal, int iterations);
+    
+    /**
+     * complexArithmetic
+     * 
+     * @param iterations The maximum iterations
+     * @return The Mandelbrot set the way it was first
+     *         written, with ComplexNumber's square(),
+     *         add() and modulusSquared()
+     */
+    Kernel complexArithmetic(int iterations);
+    
+    /**
+     * rows
+     * 
+     * @param fractal MANDELBROT or SHIP
+     * @param engine  scalar, vector, float, floatVector,
+     *                doubleDouble or perturbation
+     * @param view    One of the views
+     * @param width   The image width
+     * @param height  The image height
+     * @param series  Can perturbation on the Mandelbrot set use
+     *                the series approximation?
+     * @return The Engine's calculateRow()
+     */
+    Rows rows(String fractal, String engine, String view, int width, int height, boolean series);
+    
+    /**
+     * frame
+     * 
+     * @param fractal     MANDELBROT or SHIP
+     * @param view        One of the views
+     * @param width       The image width
+     * @param height      The image height
+     * @param vectorised  Can it use the vector Engines?
+     * @param subdivision Can it skip rectangles inside the set?
+     * @return A checker's start(), with its tile cache off so
+     *         every frame is drawn from scratch
+     */
+    Frame frame(String fractal, String view, int width, int height, boolean vectorised, boolean subdivision);
+    
+    /**
+     * getThreads
+     * 
+     * @return The number of threads frames are drawn with
+     */
+    int getThreads();
+    
+    /**
+     * load
+     * 
+     * @return FractalTargets
+     */
+    static Targets load()
+    {
+        try
+        {
+            return (Targets)Class.forName("FractalTargets").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("FractalTargets is missing", e);
+        }
+    }
+}